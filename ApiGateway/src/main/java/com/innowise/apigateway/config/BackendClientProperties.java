@@ -0,0 +1,74 @@
+package com.innowise.apigateway.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "backend-clients")
+public class BackendClientProperties {
+
+    private Pool defaults = new Pool();
+
+    /** Per-backend overrides, keyed by a short backend name; unset values fall back to {@link #defaults}. */
+    private Map<String, Backend> backends = new HashMap<>();
+
+    public Pool resolve(String backend) {
+        Pool overrides = backends.getOrDefault(backend, new Backend());
+        Pool resolved = new Pool();
+        resolved.setMaxConnections(pick(overrides.getMaxConnections(), defaults.getMaxConnections()));
+        resolved.setPendingAcquireMaxCount(pick(overrides.getPendingAcquireMaxCount(),
+                defaults.getPendingAcquireMaxCount()));
+        resolved.setPendingAcquireTimeout(pick(overrides.getPendingAcquireTimeout(),
+                defaults.getPendingAcquireTimeout()));
+        resolved.setMaxIdleTime(pick(overrides.getMaxIdleTime(), defaults.getMaxIdleTime()));
+        resolved.setMaxLifeTime(pick(overrides.getMaxLifeTime(), defaults.getMaxLifeTime()));
+        resolved.setEvictInterval(pick(overrides.getEvictInterval(), defaults.getEvictInterval()));
+        resolved.setConnectTimeout(pick(overrides.getConnectTimeout(), defaults.getConnectTimeout()));
+        resolved.setResponseTimeout(pick(overrides.getResponseTimeout(), defaults.getResponseTimeout()));
+        resolved.setH2c(pick(overrides.getH2c(), defaults.getH2c()));
+        return resolved;
+    }
+
+    private static <T> T pick(T override, T fallback) {
+        return Optional.ofNullable(override).orElse(fallback);
+    }
+
+    @Data
+    public static class Pool {
+        private Integer maxConnections = 100;
+        private Integer pendingAcquireMaxCount = 200;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInterval = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private Boolean h2c = false;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Backend extends Pool {
+        private String url;
+
+        public Backend() {
+            setMaxConnections(null);
+            setPendingAcquireMaxCount(null);
+            setPendingAcquireTimeout(null);
+            setMaxIdleTime(null);
+            setMaxLifeTime(null);
+            setEvictInterval(null);
+            setConnectTimeout(null);
+            setResponseTimeout(null);
+            setH2c(null);
+        }
+    }
+}
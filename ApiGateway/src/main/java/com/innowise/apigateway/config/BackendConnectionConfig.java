@@ -0,0 +1,104 @@
+package com.innowise.apigateway.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * One Reactor Netty connection provider for every backend, with a separately sized pool per
+ * backend host. Shared by the gateway routes and the WebClients used for registration, so both
+ * compete for the same, bounded set of connections and show up in the same pool metrics.
+ */
+@Configuration
+public class BackendConnectionConfig {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Function<String, String> URI_TAG = uri -> ID_SEGMENT.matcher(uri).replaceAll("/{id}");
+
+    private final BackendClientProperties properties;
+
+    public BackendConnectionConfig(BackendClientProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider backendConnectionProvider() {
+        BackendClientProperties.Pool defaults = properties.getDefaults();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("backends")
+                .maxConnections(defaults.getMaxConnections())
+                .pendingAcquireMaxCount(defaults.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(defaults.getPendingAcquireTimeout())
+                .maxIdleTime(defaults.getMaxIdleTime())
+                .maxLifeTime(defaults.getMaxLifeTime())
+                .evictInBackground(defaults.getEvictInterval())
+                .metrics(true);
+        properties.getBackends().forEach((name, backend) -> {
+            if (backend.getUrl() == null) {
+                return;
+            }
+            BackendClientProperties.Pool pool = properties.resolve(name);
+            builder.forRemoteHost(remoteAddress(backend.getUrl()), spec -> spec
+                    .maxConnections(pool.getMaxConnections())
+                    .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                    .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                    .maxIdleTime(pool.getMaxIdleTime())
+                    .maxLifeTime(pool.getMaxLifeTime())
+                    .evictInBackground(pool.getEvictInterval())
+                    .metrics(true));
+        });
+        return builder.build();
+    }
+
+    public HttpClient httpClient(ConnectionProvider connectionProvider, String backend) {
+        return configure(HttpClient.create(connectionProvider), properties.resolve(backend));
+    }
+
+    @Bean
+    public HttpClientFactory backendHttpClientFactory(HttpClientProperties httpClientProperties,
+                                                      ServerProperties serverProperties,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      ConnectionProvider backendConnectionProvider) {
+        return new HttpClientFactory(httpClientProperties, serverProperties, sslConfigurer, customizers) {
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties ignored) {
+                return backendConnectionProvider;
+            }
+        };
+    }
+
+    @Bean
+    public HttpClientCustomizer backendHttpClientCustomizer() {
+        return httpClient -> configure(httpClient, properties.getDefaults());
+    }
+
+    private static HttpClient configure(HttpClient httpClient, BackendClientProperties.Pool pool) {
+        HttpClient configured = httpClient
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .responseTimeout(pool.getResponseTimeout())
+                .metrics(true, URI_TAG);
+        return Boolean.TRUE.equals(pool.getH2c())
+                ? configured.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                : configured;
+    }
+
+    private static InetSocketAddress remoteAddress(String url) {
+        URI uri = URI.create(url);
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+}
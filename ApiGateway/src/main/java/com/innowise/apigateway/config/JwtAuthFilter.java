@@ -26,10 +26,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthFilter implements WebFilter {
 
+    /** The services key per-user state on this header, so only a verified token may set it. */
+    static final String USER_ID_HEADER = "X-User-Id";
+
     private final JwtUtil jwtUtil;
     
     @Override
-    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    public Mono<Void> filter(ServerWebExchange incoming, WebFilterChain chain) {
+        ServerWebExchange exchange = withUserId(incoming, null);
         String path = exchange.getRequest().getURI().getPath();
         
         if (isPublicEndpoint(path)) {
@@ -69,7 +73,7 @@ public class JwtAuthFilter implements WebFilter {
             
             SecurityContext securityContext = new SecurityContextImpl(authentication);
             
-            return chain.filter(exchange)
+            return chain.filter(withUserId(exchange, userId))
                     .contextWrite(ReactiveSecurityContextHolder.withSecurityContext(Mono.just(securityContext)));
                     
         } catch (Exception e) {
@@ -78,6 +82,20 @@ public class JwtAuthFilter implements WebFilter {
         }
     }
     
+    private ServerWebExchange withUserId(ServerWebExchange exchange, Long userId) {
+        if (userId == null && !exchange.getRequest().getHeaders().containsKey(USER_ID_HEADER)) {
+            return exchange;
+        }
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(USER_ID_HEADER);
+                    if (userId != null) {
+                        headers.set(USER_ID_HEADER, userId.toString());
+                    }
+                }))
+                .build();
+    }
+
     private boolean isPublicEndpoint(String path) {
         return path.startsWith("/api/v1/register") ||
                path.startsWith("/api/auth/login") ||
@@ -0,0 +1,28 @@
+package com.innowise.apigateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaConfig {
+
+    /**
+     * A dead-letter report is the only thing that starts compensation for an event-driven
+     * registration, so a failed one is retried with backoff until Redis takes it, never skipped.
+     * The interval stays well below the consumer's max.poll.interval.ms.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(@Value("${dead-letter.retry.first-backoff:500ms}") Duration firstBackoff,
+                                                 @Value("${dead-letter.retry.max-backoff:30s}") Duration maxBackoff) {
+        ExponentialBackOff backOff = new ExponentialBackOff(firstBackoff.toMillis(), 2.0);
+        backOff.setMaxInterval(maxBackoff.toMillis());
+        return new DefaultErrorHandler(backOff);
+    }
+}
@@ -0,0 +1,246 @@
+package com.innowise.apigateway.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Token buckets per caller (user id from the verified JWT, otherwise client IP) and per route,
+ * kept in Redis. Tokens are leased from the caller's bucket in small batches so steady, well-behaved
+ * clients mostly skip the Redis hop; the route's bucket is only charged for requests actually let
+ * through, the ones served from a lease being settled on the route's next Redis hop. Callers that
+ * were just rejected are rejected locally until their retry-after passes. Endpoints served by the gateway's own controllers never get a route, so
+ * the same limiter also runs as a WebFilter for the paths listed under rate-limit.endpoints.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, WebFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 1000;
+
+    private static final String KEY_PREFIX = "rate-limit:";
+    private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String SCOPE_HEADER = "X-RateLimit-Scope";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RedisScript<List> script =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), List.class);
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> unsettled = new ConcurrentHashMap<>();
+    private final Map<String, PathPattern> endpoints = new LinkedHashMap<>();
+    private final Disposable sweeper;
+
+    public RateLimitFilter(ReactiveStringRedisTemplate redisTemplate, RateLimitProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.getEndpoints().forEach((id, path) -> endpoints.put(id, PathPatternParser.defaultInstance.parse(path)));
+        this.sweeper = Flux.interval(properties.getLeaseTtl())
+                .subscribe(tick -> {
+                    long now = System.currentTimeMillis();
+                    leases.values().removeIf(lease -> lease.expiresAt <= now);
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.dispose();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        return limit(exchange, route.getId(), () -> chain.filter(exchange));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        for (Map.Entry<String, PathPattern> endpoint : endpoints.entrySet()) {
+            if (endpoint.getValue().matches(path)) {
+                return limit(exchange, endpoint.getKey(), () -> chain.filter(exchange));
+            }
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> limit(ServerWebExchange exchange, String routeId, Supplier<Mono<Void>> proceed) {
+        return caller(exchange).flatMap(caller -> {
+            String leaseKey = routeId + ":" + caller.key();
+            long now = System.currentTimeMillis();
+            Lease lease = leases.get(leaseKey);
+            if (lease != null && lease.expiresAt > now) {
+                if (lease.retryAt > now) {
+                    return reject(exchange, routeId, lease.scope, lease.limit, lease.retryAt - now, "local");
+                }
+                if (lease.tokens.getAndDecrement() > 0) {
+                    if (properties.getRoutes().containsKey(routeId)) {
+                        unsettled.computeIfAbsent(routeId, id -> new AtomicInteger()).incrementAndGet();
+                    }
+                    count(routeId, "allowed_local");
+                    return proceed.get();
+                }
+            }
+            return acquire(routeId, caller, leaseKey).flatMap(decision -> {
+                if (decision.granted() > 0) {
+                    count(routeId, "allowed");
+                    return proceed.get();
+                }
+                return reject(exchange, routeId, decision.scope(), decision.limit(),
+                        decision.retryAfterMillis(), "redis");
+            });
+        });
+    }
+
+    private Mono<Caller> caller(ServerWebExchange exchange) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .filter(authentication -> authentication.getDetails() instanceof Long)
+                .map(authentication -> new Caller("user", "user:" + authentication.getDetails(), properties.getUser()))
+                .switchIfEmpty(Mono.fromSupplier(() -> new Caller("ip", "ip:" + clientIp(exchange),
+                        properties.getAnonymous())));
+    }
+
+    private Mono<Decision> acquire(String routeId, Caller caller, String leaseKey) {
+        int requested = Math.max(1, Math.min(properties.getLocalLease(), caller.limit().getReplenishRate() / 4));
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(requested));
+        keys.add(KEY_PREFIX + caller.key());
+        args.add(String.valueOf(caller.limit().getReplenishRate()));
+        args.add(String.valueOf(caller.limit().getBurstCapacity()));
+        RateLimitProperties.Limit routeLimit = properties.getRoutes().get(routeId);
+        AtomicInteger routeUnsettled = unsettled.get(routeId);
+        int settled = routeUnsettled == null ? 0 : routeUnsettled.getAndSet(0);
+        if (routeLimit != null) {
+            keys.add(KEY_PREFIX + "route:" + routeId);
+            args.add(String.valueOf(routeLimit.getReplenishRate()));
+            args.add(String.valueOf(routeLimit.getBurstCapacity()));
+            args.add(String.valueOf(settled));
+        }
+
+        return redisTemplate.execute(script, keys, args.toArray())
+                .next()
+                .map(result -> {
+                    long granted = ((Number) result.get(0)).longValue();
+                    long retryAfter = ((Number) result.get(2)).longValue();
+                    boolean routeLimited = ((Number) result.get(3)).intValue() == 2;
+                    String scope = routeLimited ? "route" : caller.scope();
+                    RateLimitProperties.Limit limit = routeLimited ? routeLimit : caller.limit();
+                    long now = System.currentTimeMillis();
+                    leases.put(leaseKey, granted > 0
+                            ? new Lease((int) granted - 1, now + properties.getLeaseTtl().toMillis(), 0, scope, limit)
+                            : new Lease(0, now + retryAfter, now + retryAfter, scope, limit));
+                    return new Decision(granted, retryAfter, scope, limit);
+                })
+                .onErrorResume(ex -> {
+                    if (routeUnsettled != null) {
+                        routeUnsettled.addAndGet(settled);
+                    }
+                    log.warn("Rate limiter unavailable, letting request through: {}", ex.getMessage());
+                    count(routeId, "failed_open");
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(new Decision(1, 0, caller.scope(), caller.limit()));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, String scope,
+                              RateLimitProperties.Limit limit, long retryAfterMillis, String source) {
+        count(routeId, "rejected_" + source);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        headers.set(LIMIT_HEADER, String.valueOf(limit.getBurstCapacity()));
+        headers.set(REMAINING_HEADER, "0");
+        headers.set(SCOPE_HEADER, scope);
+        return response.setComplete();
+    }
+
+    private void count(String routeId, String outcome) {
+        Counter.builder("gateway.ratelimit.decisions")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress == null || remoteAddress.getAddress() == null
+                ? "unknown"
+                : remoteAddress.getAddress().getHostAddress();
+    }
+
+    private record Caller(String scope, String key, RateLimitProperties.Limit limit) {
+    }
+
+    private record Decision(long granted, long retryAfterMillis, String scope, RateLimitProperties.Limit limit) {
+    }
+
+    private static final class Lease {
+        private final AtomicInteger tokens;
+        private final long expiresAt;
+        private final long retryAt;
+        private final String scope;
+        private final RateLimitProperties.Limit limit;
+
+        private Lease(int tokens, long expiresAt, long retryAt, String scope, RateLimitProperties.Limit limit) {
+            this.tokens = new AtomicInteger(tokens);
+            this.expiresAt = expiresAt;
+            this.retryAt = retryAt;
+            this.scope = scope;
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.innowise.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Tokens taken from the caller's bucket at once and then spent locally without a round trip. */
+    private int localLease = 5;
+
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    private Limit user = new Limit(20, 40);
+
+    /** Applied per client IP when the request carries no verified JWT, e.g. the public auth routes. */
+    private Limit anonymous = new Limit(5, 10);
+
+    /** Shared by all callers of a route, keyed by gateway route id. */
+    private Map<String, Limit> routes = new HashMap<>();
+
+    /**
+     * Path patterns of gateway controller endpoints, keyed by the id their shared limit uses in
+     * {@link #routes}. Requests to them are limited per caller like routed requests.
+     */
+    private Map<String, String> endpoints = new HashMap<>();
+
+    @Data
+    public static class Limit {
+        private int replenishRate;
+        private int burstCapacity;
+
+        public Limit() {
+        }
+
+        public Limit(int replenishRate, int burstCapacity) {
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.innowise.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "registration-saga")
+public class RegistrationSagaProperties {
+
+    /**
+     * How long a saga may stay unfinished before recovery looks at it. Must exceed the time a
+     * registration normally takes, including the profile call's response timeout.
+     */
+    private Duration staleAfter = Duration.ofSeconds(30);
+
+    /**
+     * How long after the USER_REGISTERED event recovery first checks for the profile. Running out
+     * never removes the credentials; only a dead-lettered event does.
+     */
+    private Duration profileEventTimeout = Duration.ofMinutes(10);
+
+    private Duration recoveryInterval = Duration.ofSeconds(5);
+
+    private int recoveryBatchSize = 50;
+
+    /** Compensation attempts made while the client still waits for its response. */
+    private int inlineRetries = 2;
+
+    private Duration firstBackoff = Duration.ofMillis(200);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /** Recovery attempts after which a saga is parked as FAILED for manual follow-up. */
+    private int maxAttempts = 20;
+
+    /** Lifetime of a saga record; completed sagas are deleted right away. */
+    private Duration recordTtl = Duration.ofDays(7);
+}
@@ -0,0 +1,265 @@
+package com.innowise.apigateway.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user cache for GET responses, sized by body bytes and expiring after the backend's
+ * Cache-Control max-age. Every 200 GET whose body fits max-entry-size gets an ETag so clients
+ * can revalidate with If-None-Match; a fresh cache entry answers that with 304 without calling
+ * the backend. Streamed bodies and bodies that turn out larger are passed through untouched,
+ * holding at most max-entry-size of them along the way.
+ * Any non-GET request from a user bumps that user's generation, which is part of every cache
+ * key, so their older entries are never read again and age out on their own.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RateLimitFilter.ORDER + 1;
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.APPLICATION_NDJSON,
+            MediaType.TEXT_EVENT_STREAM);
+    private static final List<String> UNCACHED_HEADERS = List.of(HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.SET_COOKIE, HttpHeaders.DATE);
+
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, CachedResponse> cache;
+    private final Cache<String, Long> generations;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfter(Expiry.<String, CachedResponse>creating((key, response) -> response.ttl()))
+                .recordStats()
+                .build();
+        // a generation unread for max-ttl only guards entries that have already expired
+        this.generations = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getMaxTtl())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        return userId().map(Optional::of).defaultIfEmpty(Optional.empty()).flatMap(userId -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (userId.isEmpty()) {
+                return chain.filter(exchange);
+            }
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange).doFinally(signal -> evictUser(userId.get()));
+            }
+            String key = key(userId.get(), request);
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+            return chain.filter(exchange.mutate().response(new CachingResponse(exchange, key)).build());
+        });
+    }
+
+    private Mono<String> userId() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .filter(authentication -> authentication.getDetails() instanceof Long)
+                .map(authentication -> String.valueOf(authentication.getDetails()));
+    }
+
+    private String key(String userId, ServerHttpRequest request) {
+        return userId + " " + generations.get(userId, id -> 0L) + " " + request.getURI().getRawPath() + "?" + Optional.ofNullable(request.getURI().getRawQuery())
+                .orElse("") + " " + request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+    }
+
+    private void evictUser(String userId) {
+        generations.asMap().merge(userId, 1L, Long::sum);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach(headers::putIfAbsent);
+        headers.set(HttpHeaders.AGE, String.valueOf(Duration.ofNanos(System.nanoTime() - cached.storedAt()).toSeconds()));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        if (matches(exchange.getRequest(), cached.etag())) {
+            count("not_modified");
+            return notModified(response);
+        }
+        count("hit");
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static Mono<Void> notModified(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+        return response.setComplete();
+    }
+
+    private static boolean matches(ServerHttpRequest request, String etag) {
+        List<String> candidates = request.getHeaders().getIfNoneMatch();
+        String strong = stripWeak(etag);
+        return candidates.stream().anyMatch(candidate -> "*".equals(candidate) || stripWeak(candidate).equals(strong));
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private Duration ttl(HttpHeaders headers, int bodyLength) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null || bodyLength > properties.getMaxEntrySize().toBytes()
+                || headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getVary().contains("*")) {
+            return Duration.ZERO;
+        }
+        long maxAge = 0;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String trimmed = directive.trim();
+            if (trimmed.equals("no-store") || trimmed.equals("no-cache")) {
+                return Duration.ZERO;
+            }
+            if (trimmed.startsWith("max-age=")) {
+                try {
+                    maxAge = Long.parseLong(trimmed.substring("max-age=".length()));
+                } catch (NumberFormatException ex) {
+                    return Duration.ZERO;
+                }
+            }
+        }
+        Duration ttl = Duration.ofSeconds(Math.max(0, maxAge));
+        return ttl.compareTo(properties.getMaxTtl()) > 0 ? properties.getMaxTtl() : ttl;
+    }
+
+    private static boolean isStreaming(MediaType contentType) {
+        return contentType != null && STREAMING_TYPES.stream().anyMatch(type -> type.isCompatibleWith(contentType));
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void count(String result) {
+        Counter.builder("gateway.response.cache")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+
+        private CachingResponse(ServerWebExchange exchange, String key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            long maxEntrySize = properties.getMaxEntrySize().toBytes();
+            if (!HttpStatus.OK.equals(getStatusCode()) || headers.getContentLength() > maxEntrySize
+                    || isStreaming(headers.getContentType())) {
+                return super.writeWith(body);
+            }
+            // the first batch is the whole body unless it went past the limit, in which case the rest streams on
+            AtomicLong read = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> read.addAndGet(buffer.readableByteCount()) > maxEntrySize)
+                    .switchOnFirst((first, batches) -> {
+                        Flux<DataBuffer> buffers = batches.flatMapIterable(batch -> batch);
+                        if (read.get() > maxEntrySize) {
+                            return super.writeWith(buffers);
+                        }
+                        return DataBufferUtils.join(buffers).flatMap(this::cacheAndWrite);
+                    })
+                    .then();
+        }
+
+        private Mono<Void> cacheAndWrite(DataBuffer joined) {
+            byte[] bytes = new byte[joined.readableByteCount()];
+            joined.read(bytes);
+            DataBufferUtils.release(joined);
+
+            HttpHeaders headers = getHeaders();
+            String etag = headers.getETag() != null ? headers.getETag() : etag(bytes);
+            headers.setETag(etag);
+            headers.set(CACHE_STATUS_HEADER, "MISS");
+            Duration ttl = ttl(headers, bytes.length);
+            if (!ttl.isZero()) {
+                HttpHeaders stored = new HttpHeaders();
+                headers.forEach((name, values) -> {
+                    if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)
+                            && !CACHE_STATUS_HEADER.equalsIgnoreCase(name)) {
+                        stored.addAll(name, values);
+                    }
+                });
+                cache.put(key, new CachedResponse(stored, bytes, etag, ttl, System.nanoTime()));
+            }
+            count("miss");
+            if (matches(exchange.getRequest(), etag)) {
+                return notModified(getDelegate());
+            }
+            headers.setContentLength(bytes.length);
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+    }
+
+    private record CachedResponse(HttpHeaders headers, byte[] body, String etag, Duration ttl, long storedAt) {
+    }
+}
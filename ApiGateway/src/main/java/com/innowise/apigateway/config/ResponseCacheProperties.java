@@ -0,0 +1,24 @@
+package com.innowise.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on the memory held by cached bodies across all users. */
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+
+    /** Caps the backend's max-age. */
+    private Duration maxTtl = Duration.ofMinutes(1);
+}
@@ -1,6 +1,7 @@
 package com.innowise.apigateway.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
@@ -8,6 +9,10 @@ import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+
+import java.net.InetSocketAddress;
 
 @Configuration
 @EnableWebFluxSecurity
@@ -16,6 +21,9 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
 
+    @Value("${management.server.port}")
+    private int managementPort;
+
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
         return http
@@ -25,10 +33,21 @@ public class SecurityConfig {
                 .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
                 .authorizeExchange(exchanges -> exchanges
                         .pathMatchers("/api/v1/register", "/api/v1/auth/login", "/api/v1/auth/register", "/api/v1/auth/refresh").permitAll()
-                        .pathMatchers("/actuator/health","/actuator/health/**").permitAll()
+                        .matchers(onManagementPort()).permitAll()
                         .anyExchange().authenticated()
                 )
                 .addFilterAt(jwtAuthFilter, SecurityWebFiltersOrder.HTTP_BASIC)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Actuator is served only on the management port, which the public service does not expose,
+     * so probes and the metrics scrape need no token and nothing on the public port is opened.
+     */
+    private ServerWebExchangeMatcher onManagementPort() {
+        return exchange -> {
+            InetSocketAddress local = exchange.getRequest().getLocalAddress();
+            return local != null && local.getPort() == managementPort ? MatchResult.match() : MatchResult.notMatch();
+        };
+    }
+}
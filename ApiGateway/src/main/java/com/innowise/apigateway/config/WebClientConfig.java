@@ -3,7 +3,9 @@ package com.innowise.apigateway.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
@@ -14,17 +16,25 @@ public class WebClientConfig {
     @Value("${services.user.url}")
     private String userServiceUrl;
 
+    // Boot's WebClient.Builder carries the observation registry, so registration calls join the
+    // incoming request's trace and forward its context to AuthService and UserService.
     @Bean
-    public WebClient authServiceClient() {
-        return WebClient.builder()
+    public WebClient authServiceClient(WebClient.Builder webClientBuilder, BackendConnectionConfig connections,
+                                       ConnectionProvider backendConnectionProvider) {
+        return webClientBuilder
                 .baseUrl(authServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(
+                        connections.httpClient(backendConnectionProvider, "auth")))
                 .build();
     }
 
     @Bean
-    public WebClient userServiceClient() {
-        return WebClient.builder()
+    public WebClient userServiceClient(WebClient.Builder webClientBuilder, BackendConnectionConfig connections,
+                                       ConnectionProvider backendConnectionProvider) {
+        return webClientBuilder
                 .baseUrl(userServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(
+                        connections.httpClient(backendConnectionProvider, "user")))
                 .build();
     }
 }
@@ -2,9 +2,11 @@ package com.innowise.apigateway.controller;
 
 import com.innowise.apigateway.dto.RegisterRequestDto;
 import com.innowise.apigateway.dto.RegistrationResponseDto;
+import com.innowise.apigateway.service.RegistrationSagaLog;
 import com.innowise.apigateway.service.RegistrationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,7 +31,13 @@ public class RegistrationController {
                 .onErrorResume(error -> {
                     log.error("Registration error: {}", error.getMessage(), error);
                     
-                    if (error.getMessage().contains("DUPLICATE_USER")) {
+                    if (isTemporarilyUnavailable(error)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(Map.of("error", "Registration is temporarily unavailable, try again later")));
+                    }
+
+                    if (error.getMessage() != null && error.getMessage().contains("DUPLICATE_USER")) {
                         String message = error.getMessage().substring(error.getMessage().indexOf(":") + 2);
                         return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
                                 .body(Map.of("error", message)));
@@ -39,4 +47,22 @@ public class RegistrationController {
                             .body(Map.of("error", "Registration failed")));
                 });
     }
+
+    /**
+     * A full connection pool, or a saga that could not be recorded; in both cases nothing was kept
+     * and the client can retry. The pool exceptions live in Reactor Netty's shaded reactor-pool
+     * package, so they are matched by name rather than imported.
+     */
+    private static boolean isTemporarilyUnavailable(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof RegistrationSagaLog.SagaLogUnavailableException) {
+                return true;
+            }
+            String name = current.getClass().getSimpleName();
+            if (name.equals("PoolAcquirePendingLimitException") || name.equals("PoolAcquireTimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,4 +13,8 @@ public class AuthRegisterRequestDto {
     private String username;
     private String password;
     private String email;
+    private String name;
+    private String surname;
+    private LocalDate birthdate;
+    private String registrationId;
 }
@@ -1,5 +1,6 @@
 package com.innowise.apigateway.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,7 +9,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class AuthResponseDto {
+    @JsonAlias("id")
     private Long userId;
     private String accessToken;
     private String refreshToken;
+    private boolean profileEventPublished;
 }
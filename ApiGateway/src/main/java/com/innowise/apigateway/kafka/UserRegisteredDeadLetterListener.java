@@ -0,0 +1,51 @@
+package com.innowise.apigateway.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.apigateway.service.RegistrationSagaLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * UserService dead-letters a USER_REGISTERED event once it can never become a profile. That is
+ * the only point at which a registration that went through the event is given up, so the saga is
+ * switched to compensation here rather than on a timer. A report that cannot be recorded fails
+ * the listener and is redelivered instead of being dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class UserRegisteredDeadLetterListener {
+
+    public static final String USER_REGISTERED_DLT = "user-registered.DLT";
+
+    private static final Duration RECORD_TIMEOUT = Duration.ofSeconds(5);
+
+    private final RegistrationSagaLog sagaLog;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = USER_REGISTERED_DLT, groupId = "api-gateway-registration-saga")
+    public void handleDeadLetteredEvent(String payload) {
+        JsonNode userId;
+        try {
+            userId = objectMapper.readTree(payload).path("userId");
+        } catch (JsonProcessingException e) {
+            log.error("Ignoring dead-lettered USER_REGISTERED event that is not JSON: {}", payload);
+            return;
+        }
+        if (!userId.canConvertToLong()) {
+            log.error("Ignoring dead-lettered USER_REGISTERED event without a user id: {}", payload);
+            return;
+        }
+
+        log.warn("USER_REGISTERED event for userId {} was dead-lettered, compensating its registration", userId.asLong());
+        sagaLog.deadLettered(userId.asLong()).block(RECORD_TIMEOUT);
+    }
+}
@@ -0,0 +1,178 @@
+package com.innowise.apigateway.service;
+
+import com.innowise.apigateway.config.RegistrationSagaProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registration saga records in Redis. Each saga is a hash with the email, the created user id once
+ * it is known, and the saga state; a sorted set holds every unfinished saga, scored by the time
+ * recovery should next look at it. The writes that record a step fail with
+ * {@link SagaLogUnavailableException}, so the registration never runs unrecorded; the writes that
+ * only move a saga along are best effort, since recovery picks up a saga that was left behind.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegistrationSagaLog {
+
+    public static final String STARTED = "STARTED";
+    public static final String CREDENTIALS_CREATED = "CREDENTIALS_CREATED";
+    public static final String PROFILE_EVENT_PUBLISHED = "PROFILE_EVENT_PUBLISHED";
+    public static final String COMPENSATING = "COMPENSATING";
+    public static final String FAILED = "FAILED";
+
+    private static final String KEY_PREFIX = "registration-saga:";
+    private static final String PENDING_KEY = KEY_PREFIX + "pending";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RegistrationSagaProperties properties;
+    private final RedisScript<Long> claimScript =
+            RedisScript.of(new ClassPathResource("scripts/saga_claim.lua"), Long.class);
+
+    /** Written before AuthService is called; the saga id doubles as the registration id there. */
+    public Mono<Void> started(String sagaId, String email) {
+        return record(sagaId, Map.of("email", email, "state", STARTED, "attempts", "0"), properties.getStaleAfter());
+    }
+
+    public Mono<Void> credentialsCreated(String sagaId, Long userId) {
+        return record(sagaId, Map.of("userId", String.valueOf(userId), "state", CREDENTIALS_CREATED),
+                properties.getStaleAfter());
+    }
+
+    /**
+     * Recovery checks for the profile once UserService has had time to consume the event. The user
+     * id points back to the saga, so a dead-letter report for the event can find it.
+     */
+    public Mono<Void> profileEventPublished(String sagaId, Long userId) {
+        return record(sagaId, Map.of("userId", String.valueOf(userId), "state", PROFILE_EVENT_PUBLISHED),
+                properties.getProfileEventTimeout())
+                .then(redisTemplate.opsForValue().set(userKey(userId), sagaId, properties.getRecordTtl())
+                        .onErrorMap(ex -> new SagaLogUnavailableException("Could not record registration saga " + sagaId, ex)))
+                .then();
+    }
+
+    /**
+     * UserService gave up on the profile: the saga that published the event is switched to
+     * compensation and made due now. A report for a saga that is gone, or one that never saw
+     * AuthService's response, starts a saga of its own; compensation is safe to repeat.
+     */
+    public Mono<Void> deadLettered(Long userId) {
+        return redisTemplate.opsForValue().get(userKey(userId))
+                .defaultIfEmpty("dead-letter-" + userId)
+                .flatMap(sagaId -> record(sagaId,
+                        Map.of("userId", String.valueOf(userId), "state", COMPENSATING, "attempts", "0"),
+                        Duration.ZERO));
+    }
+
+    public Mono<Void> completed(String sagaId) {
+        return Mono.when(redisTemplate.opsForZSet().remove(PENDING_KEY, sagaId), redisTemplate.delete(key(sagaId)))
+                .onErrorResume(ex -> swallow("complete", sagaId, ex));
+    }
+
+    /** Marks the saga as compensating; recovery takes over if it is not finished within the lease. */
+    public Mono<Void> compensating(String sagaId) {
+        return Mono.when(
+                        redisTemplate.opsForHash().put(key(sagaId), "state", COMPENSATING),
+                        schedule(sagaId, System.currentTimeMillis() + properties.getStaleAfter().toMillis()))
+                .onErrorResume(ex -> swallow("mark compensating", sagaId, ex));
+    }
+
+    public Mono<Void> retryLater(String sagaId, int attempts, long nextAttemptAt) {
+        return Mono.when(
+                        redisTemplate.opsForHash().putAll(key(sagaId),
+                                Map.of("state", COMPENSATING, "attempts", String.valueOf(attempts))),
+                        schedule(sagaId, nextAttemptAt))
+                .onErrorResume(ex -> swallow("reschedule", sagaId, ex));
+    }
+
+    /** Looks at the saga again later without changing its state. */
+    public Mono<Void> checkLater(String sagaId, int attempts, long nextAttemptAt) {
+        return Mono.when(
+                        redisTemplate.opsForHash().put(key(sagaId), "attempts", String.valueOf(attempts)),
+                        schedule(sagaId, nextAttemptAt))
+                .onErrorResume(ex -> swallow("reschedule", sagaId, ex));
+    }
+
+    /** Parks the saga for manual follow-up; the user id is kept. */
+    public Mono<Void> failed(String sagaId, int attempts) {
+        return Mono.when(
+                        redisTemplate.opsForZSet().remove(PENDING_KEY, sagaId),
+                        redisTemplate.opsForHash().putAll(key(sagaId),
+                                Map.of("state", FAILED, "attempts", String.valueOf(attempts))))
+                .onErrorResume(ex -> swallow("mark failed", sagaId, ex));
+    }
+
+    public Flux<String> due(long now) {
+        return redisTemplate.opsForZSet().rangeByScore(PENDING_KEY, Range.closed(0.0, (double) now),
+                Limit.limit().count(properties.getRecoveryBatchSize()));
+    }
+
+    public Mono<Boolean> claim(String sagaId, long now, long leaseUntil) {
+        return redisTemplate.execute(claimScript, List.of(PENDING_KEY),
+                        List.of(sagaId, String.valueOf(now), String.valueOf(leaseUntil)))
+                .next()
+                .map(claimed -> claimed == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Saga> load(String sagaId) {
+        return redisTemplate.<String, String>opsForHash().entries(key(sagaId))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .filter(fields -> fields.containsKey("state"))
+                .map(fields -> new Saga(sagaId,
+                        fields.containsKey("userId") ? Long.valueOf(fields.get("userId")) : null,
+                        fields.get("state"), Integer.parseInt(fields.getOrDefault("attempts", "0"))));
+    }
+
+    public Mono<Void> forget(String sagaId) {
+        return redisTemplate.opsForZSet().remove(PENDING_KEY, sagaId).then();
+    }
+
+    private Mono<Void> record(String sagaId, Map<String, String> fields, Duration checkAfter) {
+        return Mono.when(
+                        redisTemplate.opsForHash().putAll(key(sagaId), fields)
+                                .then(redisTemplate.expire(key(sagaId), properties.getRecordTtl())),
+                        schedule(sagaId, System.currentTimeMillis() + checkAfter.toMillis()))
+                .onErrorMap(ex -> new SagaLogUnavailableException("Could not record registration saga " + sagaId, ex));
+    }
+
+    private Mono<Boolean> schedule(String sagaId, long at) {
+        return redisTemplate.opsForZSet().add(PENDING_KEY, sagaId, at);
+    }
+
+    private static String key(String sagaId) {
+        return KEY_PREFIX + sagaId;
+    }
+
+    private static String userKey(Long userId) {
+        return KEY_PREFIX + "user:" + userId;
+    }
+
+    private static Mono<Void> swallow(String action, String sagaId, Throwable ex) {
+        log.warn("Could not {} registration saga {}: {}", action, sagaId, ex.getMessage());
+        return Mono.empty();
+    }
+
+    /** The user id is null while the saga is STARTED and AuthService's response was not seen. */
+    public record Saga(String id, Long userId, String state, int attempts) {
+    }
+
+    public static class SagaLogUnavailableException extends RuntimeException {
+        public SagaLogUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.innowise.apigateway.service;
+
+import com.innowise.apigateway.config.RegistrationSagaProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Finishes registration sagas that their instance could not: rollbacks that kept failing,
+ * registrations whose instance stopped before it saw AuthService's response (the credentials are
+ * looked up by the saga id) or between the credentials and the profile step, and registrations
+ * whose USER_REGISTERED event was dead-lettered. A registration that went through the event is
+ * never undone because a timer ran out: while its profile is missing recovery keeps checking, and
+ * only the dead-letter report switches it to compensation. Every instance runs this; a Redis-side
+ * claim makes sure one saga is handled by one instance at a time.
+ */
+@Slf4j
+@Component
+public class RegistrationSagaRecovery {
+
+    private final RegistrationSagaLog sagaLog;
+    private final RegistrationService registrationService;
+    private final RegistrationSagaProperties properties;
+    private Disposable recovery;
+
+    public RegistrationSagaRecovery(RegistrationSagaLog sagaLog, RegistrationService registrationService,
+                                    RegistrationSagaProperties properties) {
+        this.sagaLog = sagaLog;
+        this.registrationService = registrationService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        recovery = Flux.interval(properties.getRecoveryInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> recoverDue()
+                        .onErrorResume(ex -> {
+                            log.warn("Registration saga recovery skipped a round: {}", ex.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recovery != null) {
+            recovery.dispose();
+        }
+    }
+
+    private Mono<Void> recoverDue() {
+        long now = System.currentTimeMillis();
+        long leaseUntil = now + properties.getStaleAfter().toMillis();
+        return sagaLog.due(now)
+                .concatMap(sagaId -> sagaLog.claim(sagaId, now, leaseUntil)
+                        .filter(Boolean::booleanValue)
+                        .flatMap(claimed -> sagaLog.load(sagaId)
+                                .flatMap(this::recover)
+                                .switchIfEmpty(Mono.defer(() -> sagaLog.forget(sagaId)))))
+                .then();
+    }
+
+    private Mono<Void> recover(RegistrationSagaLog.Saga saga) {
+        if (RegistrationSagaLog.FAILED.equals(saga.state())) {
+            return sagaLog.forget(saga.id());
+        }
+        Mono<Long> userId = saga.userId() != null
+                ? Mono.just(saga.userId())
+                : registrationService.credentialsOf(saga.id());
+
+        return userId
+                .flatMap(id -> resolve(saga, id).thenReturn(id))
+                .switchIfEmpty(Mono.defer(() -> sagaLog.completed(saga.id()).then(Mono.<Long>empty())))
+                .then()
+                .onErrorResume(ex -> {
+                    int attempts = saga.attempts() + 1;
+                    if (attempts >= properties.getMaxAttempts()) {
+                        log.error("Giving up on registration saga {}: credentials for userId {} need manual cleanup",
+                                saga.id(), saga.userId(), ex);
+                        registrationService.count("failed");
+                        return sagaLog.failed(saga.id(), attempts);
+                    }
+                    log.warn("Registration saga {} recovery attempt {} failed: {}", saga.id(), attempts, ex.getMessage());
+                    return sagaLog.retryLater(saga.id(), attempts, registrationService.nextAttemptAt(attempts));
+                });
+    }
+
+    private Mono<Void> resolve(RegistrationSagaLog.Saga saga, Long userId) {
+        if (RegistrationSagaLog.COMPENSATING.equals(saga.state())) {
+            return compensate(saga, userId);
+        }
+        return registrationService.profileExists(userId).flatMap(exists -> {
+            if (exists) {
+                return sagaLog.completed(saga.id());
+            }
+            if (RegistrationSagaLog.CREDENTIALS_CREATED.equals(saga.state())) {
+                return compensate(saga, userId);
+            }
+            return awaitProfile(saga, userId);
+        });
+    }
+
+    private Mono<Void> compensate(RegistrationSagaLog.Saga saga, Long userId) {
+        log.warn("Recovering registration saga {} for userId: {}", saga.id(), userId);
+        return registrationService.compensate(userId)
+                .then(sagaLog.completed(saga.id()))
+                .doOnSuccess(v -> registrationService.count("recovered"));
+    }
+
+    /**
+     * The profile is still missing after the event was (or may have been) published. UserService
+     * is either behind or will dead-letter the event, which starts compensation; recovery only
+     * looks again later, and parks the saga for manual follow-up if neither ever happens.
+     */
+    private Mono<Void> awaitProfile(RegistrationSagaLog.Saga saga, Long userId) {
+        int attempts = saga.attempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            log.error("Registration saga {}: no profile and no dead-letter report for userId {}, needs manual follow-up",
+                    saga.id(), userId);
+            registrationService.count("failed");
+            return sagaLog.failed(saga.id(), attempts);
+        }
+        return sagaLog.checkLater(saga.id(), attempts, registrationService.nextAttemptAt(attempts));
+    }
+}
@@ -1,35 +1,77 @@
 package com.innowise.apigateway.service;
 
+import com.innowise.apigateway.config.RegistrationSagaProperties;
 import com.innowise.apigateway.dto.*;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registration: record the saga in Redis, then create credentials in AuthService under the saga
+ * id, so recovery can find them even if this instance never sees the response. If the saga cannot
+ * be recorded the registration fails before anything is created; if a later saga write fails the
+ * credentials are removed straight away. AuthService normally publishes a USER_REGISTERED event
+ * that UserService turns into the profile; the saga is then only recorded, and the credentials
+ * are removed only if UserService dead-letters the event. If the event could not be published, the profile is created here, and if that fails, or
+ * this instance dies half way, the credentials are removed again: first inline with a few
+ * retries, then by {@link RegistrationSagaRecovery} with backoff until it succeeds. Undoing and
+ * checking the profile go through UserService's internal endpoints, so they do not depend on the
+ * user's access token, which expires long before recovery gives up.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RegistrationService {
 
-    @Qualifier("authServiceClient")
-    private final WebClient authServiceClient;
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
 
-    @Qualifier("userServiceClient")
+    private final WebClient authServiceClient;
     private final WebClient userServiceClient;
+    private final RegistrationSagaLog sagaLog;
+    private final RegistrationSagaProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String internalToken;
+
+    public RegistrationService(@Qualifier("authServiceClient") WebClient authServiceClient,
+                               @Qualifier("userServiceClient") WebClient userServiceClient,
+                               RegistrationSagaLog sagaLog,
+                               RegistrationSagaProperties properties,
+                               MeterRegistry meterRegistry,
+                               @Value("${internal.service.token}") String internalToken) {
+        this.authServiceClient = authServiceClient;
+        this.userServiceClient = userServiceClient;
+        this.sagaLog = sagaLog;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.internalToken = internalToken;
+    }
 
     public Mono<RegistrationResponseDto> register(RegisterRequestDto request) {
-        log.info("Starting registration process for username: {}", request.getUsername());
+        log.debug("Starting registration process for username: {}", request.getUsername());
 
+        String sagaId = UUID.randomUUID().toString();
         AuthRegisterRequestDto authRequest = new AuthRegisterRequestDto(
                 request.getUsername(),
                 request.getPassword(),
-                request.getEmail()
+                request.getEmail(),
+                request.getName(),
+                request.getSurname(),
+                request.getBirthdate(),
+                sagaId
         );
 
-        return authServiceClient.post()
+        Mono<AuthResponseDto> createCredentials = authServiceClient.post()
                 .uri("/api/v1/auth/register")
                 .bodyValue(authRequest)
                 .retrieve()
@@ -39,8 +81,25 @@ public class RegistrationService {
                             .flatMap(body -> Mono.error(new RuntimeException("DUPLICATE_USER: " + body)));
                 })
                 .bodyToMono(AuthResponseDto.class)
+                .onErrorResume(error -> rejectedByAuth(error)
+                        ? sagaLog.completed(sagaId).then(Mono.error(error))
+                        : Mono.error(error));
+
+        return sagaLog.started(sagaId, request.getEmail())
+                .then(createCredentials)
                 .flatMap(authResponse -> {
-                    log.info("Credentials created successfully for userId: {}", authResponse.getUserId());
+                    log.debug("Credentials created successfully for userId: {}", authResponse.getUserId());
+                    if (authResponse.isProfileEventPublished()) {
+                        count("profile_event");
+                        return sagaLog.profileEventPublished(sagaId, authResponse.getUserId())
+                                .thenReturn(authResponse)
+                                .onErrorResume(error -> {
+                                    log.error("Could not record registration saga for userId: {}. Initiating rollback.",
+                                            authResponse.getUserId(), error);
+                                    return rollback(sagaId, authResponse)
+                                            .then(Mono.error(new RuntimeException("User registration failed: " + error.getMessage(), error)));
+                                });
+                    }
 
                     UserCreateRequestDto userRequest = new UserCreateRequestDto(
                             request.getName(),
@@ -48,27 +107,32 @@ public class RegistrationService {
                             request.getBirthdate()
                     );
 
-                    return userServiceClient.post()
+                    Mono<Void> createProfile = userServiceClient.post()
                             .uri("/api/v1/users")
-                            .header("Authorization", "Bearer " + authResponse.getAccessToken())
+                            .header(HttpHeaders.AUTHORIZATION, bearer(authResponse.getAccessToken()))
                             .bodyValue(userRequest)
                             .retrieve()
                             .onStatus(status -> !status.is2xxSuccessful(), response -> {
                                 return response.bodyToMono(String.class)
                                         .flatMap(body -> Mono.error(new RuntimeException("UserService error: " + body)));
                             })
-                            .bodyToMono(Void.class)
-                            .then(Mono.just(authResponse))
+                            .bodyToMono(Void.class);
+
+                    return Mono.whenDelayError(
+                                    sagaLog.credentialsCreated(sagaId, authResponse.getUserId()),
+                                    createProfile)
+                            .then(sagaLog.completed(sagaId))
+                            .doOnSuccess(v -> count("completed"))
+                            .thenReturn(authResponse)
                             .onErrorResume(error -> {
-                                log.error("Failed to create user profile for userId: {}. Initiating rollback.", 
+                                log.error("Failed to create user profile for userId: {}. Initiating rollback.",
                                         authResponse.getUserId(), error);
-                                
-                                return rollbackAuthCredentials(authResponse.getUserId())
-                                        .then(Mono.error(new RuntimeException("User registration failed: " + error.getMessage())));
+                                return rollback(sagaId, authResponse)
+                                        .then(Mono.error(new RuntimeException("User registration failed: " + error.getMessage(), error)));
                             });
                 })
                 .map(authResponse -> {
-                    log.info("Registration completed successfully for userId: {}", authResponse.getUserId());
+                    log.debug("Registration completed successfully for userId: {}", authResponse.getUserId());
                     return new RegistrationResponseDto(
                             "User registered successfully",
                             authResponse.getUserId(),
@@ -78,15 +142,103 @@ public class RegistrationService {
                 });
     }
 
-    private Mono<Void> rollbackAuthCredentials(Long userId) {
-        log.warn("Rolling back credentials for userId: {}", userId);
-        
-        return authServiceClient.delete()
+    /**
+     * Finds the credentials created for a saga whose registration response was lost. Empty when
+     * AuthService never created them.
+     */
+    public Mono<Long> credentialsOf(String sagaId) {
+        return authServiceClient.get()
+                .uri("/api/v1/auth/registrations/{registrationId}", sagaId)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(AuthResponseDto.class).map(AuthResponseDto::getUserId);
+                    }
+                    if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                        return response.releaseBody().then(Mono.empty());
+                    }
+                    return response.createError();
+                });
+    }
+
+    /**
+     * Undoes both steps. Either may have happened (the profile call can fail after the profile
+     * was stored), and both deletes treat 404 as done, so this is safe to repeat.
+     */
+    public Mono<Void> compensate(Long userId) {
+        Mono<Void> deleteProfile = userServiceClient.delete()
+                .uri("/api/v1/users/internal/{id}", userId)
+                .header(INTERNAL_TOKEN_HEADER, internalToken)
+                .retrieve()
+                .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.empty())
+                .toBodilessEntity()
+                .then();
+
+        Mono<Void> deleteCredentials = authServiceClient.delete()
                 .uri("/api/v1/auth/users/{userId}", userId)
                 .retrieve()
-                .bodyToMono(Void.class)
-                .doOnSuccess(v -> log.info("Rollback completed for userId: {}", userId))
-                .doOnError(e -> log.error("Rollback failed for userId: {}", userId, e))
-                .onErrorResume(e -> Mono.empty());
+                .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.empty())
+                .toBodilessEntity()
+                .then();
+
+        return deleteProfile.then(deleteCredentials)
+                .doOnSuccess(v -> log.info("Rollback completed for userId: {}", userId));
+    }
+
+    /** Used by recovery to tell a finished registration from one that died before the profile step. */
+    public Mono<Boolean> profileExists(Long userId) {
+        return userServiceClient.get()
+                .uri("/api/v1/users/internal/{id}", userId)
+                .header(INTERNAL_TOKEN_HEADER, internalToken)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.releaseBody().thenReturn(true);
+                    }
+                    if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                        return response.releaseBody().thenReturn(false);
+                    }
+                    return response.createError();
+                });
+    }
+
+    public long nextAttemptAt(int attempts) {
+        long backoff = properties.getFirstBackoff().toMillis() << Math.min(attempts, 20);
+        long capped = Math.min(backoff, properties.getMaxBackoff().toMillis());
+        return System.currentTimeMillis() + capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    public void count(String outcome) {
+        Counter.builder("registration.saga")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Mono<Void> rollback(String sagaId, AuthResponseDto authResponse) {
+        log.warn("Rolling back credentials for userId: {}", authResponse.getUserId());
+
+        return sagaLog.compensating(sagaId)
+                .then(compensate(authResponse.getUserId())
+                        .retryWhen(Retry.backoff(properties.getInlineRetries(), properties.getFirstBackoff())
+                                .maxBackoff(properties.getMaxBackoff())
+                                .jitter(0.5)))
+                .then(sagaLog.completed(sagaId))
+                .doOnSuccess(v -> count("compensated"))
+                .onErrorResume(e -> {
+                    log.error("Rollback failed for userId: {}, leaving it to saga recovery", authResponse.getUserId(), e);
+                    count("compensation_deferred");
+                    return sagaLog.retryLater(sagaId, 1, nextAttemptAt(1));
+                });
+    }
+
+    /** AuthService refused the request, so it created nothing; other failures are left to recovery. */
+    private static boolean rejectedByAuth(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            return responseError.getStatusCode().is4xxClientError();
+        }
+        return error.getMessage() != null && error.getMessage().startsWith("DUPLICATE_USER");
+    }
+
+    private static String bearer(String accessToken) {
+        return "Bearer " + accessToken;
     }
 }
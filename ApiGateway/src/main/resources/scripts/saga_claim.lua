@@ -0,0 +1,8 @@
+-- KEYS[1]: pending sagas sorted set; ARGV[1]: saga id; ARGV[2]: now ms; ARGV[3]: lease end ms
+-- pushes a due saga's score to the lease end so only one instance works on it; returns 1 if claimed
+local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+if score and tonumber(score) <= tonumber(ARGV[2]) then
+    redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+    return 1
+end
+return 0
@@ -0,0 +1,62 @@
+-- KEYS[1]: the caller's bucket; KEYS[2], optional: the route's bucket shared by all callers
+-- ARGV[1]: tokens requested from the caller's bucket, i.e. the size of the local lease
+-- ARGV[2], ARGV[3]: replenish rate per second and burst capacity of KEYS[1]
+-- ARGV[4], ARGV[5]: the same for KEYS[2]
+-- ARGV[6]: requests already let through from local leases, debited from KEYS[2] whatever the outcome
+-- A granted lease costs the route one token, for the request that asked for it; the rest of the lease is
+-- charged to the route as it is actually spent, through ARGV[6] of later calls.
+-- returns {granted, tokens left in KEYS[1], retry after ms, index of the limiting bucket}
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local function refill(key, rate, capacity)
+    local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(bucket[1]) or capacity
+    local last = tonumber(bucket[2]) or now
+    return math.min(capacity, tokens + math.max(0, now - last) * rate / 1000)
+end
+
+local function store(key, tokens, rate, capacity)
+    redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+    redis.call('PEXPIRE', key, math.ceil(capacity * 1000 / rate) + 1000)
+end
+
+local function wait(tokens, rate)
+    return math.ceil((1 - tokens) * 1000 / rate)
+end
+
+local requested = tonumber(ARGV[1])
+local caller_rate = tonumber(ARGV[2])
+local caller_capacity = tonumber(ARGV[3])
+local caller_tokens = refill(KEYS[1], caller_rate, caller_capacity)
+
+local route_rate, route_capacity, route_tokens
+if KEYS[2] then
+    route_rate = tonumber(ARGV[4])
+    route_capacity = tonumber(ARGV[5])
+    route_tokens = refill(KEYS[2], route_rate, route_capacity) - tonumber(ARGV[6])
+end
+
+local granted = 0
+local limiting = 0
+local retry_after = 0
+if route_tokens and route_tokens < 1 then
+    limiting = 2
+    retry_after = wait(route_tokens, route_rate)
+elseif caller_tokens < 1 then
+    limiting = 1
+    retry_after = wait(caller_tokens, caller_rate)
+else
+    granted = math.min(requested, math.floor(caller_tokens))
+    caller_tokens = caller_tokens - granted
+    if route_tokens then
+        route_tokens = route_tokens - 1
+    end
+end
+
+store(KEYS[1], caller_tokens, caller_rate, caller_capacity)
+if route_tokens then
+    store(KEYS[2], route_tokens, route_rate, route_capacity)
+end
+
+return {granted, math.floor(caller_tokens), retry_after, limiting}
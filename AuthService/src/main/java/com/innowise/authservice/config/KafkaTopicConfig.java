@@ -0,0 +1,21 @@
+package com.innowise.authservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaTopicConfig {
+
+    @Bean
+    public NewTopic userRegisteredTopic() {
+        return TopicBuilder.name("user-registered")
+                .partitions(3)
+                .replicas(2)
+                .config("min.insync.replicas", "1")
+                .build();
+    }
+}
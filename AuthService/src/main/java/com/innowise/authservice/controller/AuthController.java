@@ -7,6 +7,7 @@ import com.innowise.authservice.dto.JwtResponseDto;
 import com.innowise.authservice.dto.LoginRequestDto;
 import com.innowise.authservice.dto.RegisterRequestDto;
 import com.innowise.authservice.dto.TokenRefreshRequestDto;
+import com.innowise.authservice.dto.UserRegisteredEventDto;
 import com.innowise.authservice.entities.RefreshTokenEntity;
 import com.innowise.authservice.entities.RoleEntity;
 import com.innowise.authservice.entities.UserEntity;
@@ -15,13 +16,16 @@ import com.innowise.authservice.exceptions.TokenRefreshException;
 import com.innowise.authservice.exceptions.UserAlreadyExistsException;
 import com.innowise.authservice.exceptions.UserNotFoundException;
 import com.innowise.authservice.exceptions.AdminRoleAssignmentException;
+import com.innowise.authservice.kafka.UserRegisteredEventProducer;
 import com.innowise.authservice.service.UserDetailsServiceImpl;
 import com.innowise.authservice.util.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -38,6 +42,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+@Timed("service.method")
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -55,6 +60,7 @@ public class AuthController {
     private final UserDao userDao;
     private final RefreshTokenDao refreshTokenDao;
     private final RoleDao roleDao;
+    private final ObjectProvider<UserRegisteredEventProducer> userRegisteredEventProducer;
 
 
     @PostMapping("/register")
@@ -63,7 +69,7 @@ public class AuthController {
             userDetailsService.loadUserByUsername(registerRequest.getEmail());
             throw new UserAlreadyExistsException("User with email " + registerRequest.getEmail() + " already exists");
         } catch (org.springframework.security.core.userdetails.UsernameNotFoundException e) {
-            logger.info("User with email {} does not exist, proceeding with registration", registerRequest.getEmail());
+            logger.debug("User with email {} does not exist, proceeding with registration", registerRequest.getEmail());
         }
 
         UserEntity user = new UserEntity();
@@ -71,6 +77,7 @@ public class AuthController {
         user.setUsername(registerRequest.getUsername());
         user.setEmail(registerRequest.getEmail());
         user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setRegistrationId(registerRequest.getRegistrationId());
 
         RoleEntity userRole = roleDao.getByName("user")
                 .orElseThrow(() -> new IllegalStateException("Default user role not found in database"));
@@ -100,6 +107,13 @@ public class AuthController {
                 user.getEmail()
         );
 
+        if (registerRequest.hasProfile()) {
+            UserRegisteredEventProducer producer = userRegisteredEventProducer.getIfAvailable();
+            response.setProfileEventPublished(producer != null && producer.sendUserRegisteredEvent(
+                    new UserRegisteredEventDto(user.getId(), user.getEmail(), registerRequest.getName(),
+                            registerRequest.getSurname(), registerRequest.getBirthdate())));
+        }
+
         return ResponseEntity.ok(response);
     }
 
@@ -221,6 +235,14 @@ public class AuthController {
         }
     }
 
+    /** Lets the gateway's saga recovery find credentials created by a registration it lost track of. */
+    @GetMapping("/registrations/{registrationId}")
+    public ResponseEntity<?> getByRegistrationId(@PathVariable String registrationId) {
+        UserEntity user = userDao.getByRegistrationId(registrationId)
+                .orElseThrow(() -> new UserNotFoundException("No user for registration: " + registrationId));
+        return ResponseEntity.ok(Map.of("userId", user.getId()));
+    }
+
     @DeleteMapping("/users/{userId}")
     public ResponseEntity<?> deleteUser(@PathVariable Long userId) {
         logger.warn("Rollback initiated: deleting user credentials for userId: {}", userId);
@@ -3,6 +3,7 @@ package com.innowise.authservice.dao.implementation;
 import com.innowise.authservice.dao.interfaces.RefreshTokenDao;
 import com.innowise.authservice.entities.RefreshTokenEntity;
 import com.innowise.authservice.entities.UserEntity;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.transaction.Transactional;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
+@Observed(name = "dao")
 @RequiredArgsConstructor
 @Transactional
 public class RefreshTokenDaoImplementation implements RefreshTokenDao {
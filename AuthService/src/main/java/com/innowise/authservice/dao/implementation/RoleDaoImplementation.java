@@ -2,6 +2,7 @@ package com.innowise.authservice.dao.implementation;
 
 import com.innowise.authservice.dao.interfaces.RoleDao;
 import com.innowise.authservice.entities.RoleEntity;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.transaction.Transactional;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
+@Observed(name = "dao")
 @RequiredArgsConstructor
 @Transactional
 public class RoleDaoImplementation implements RoleDao {
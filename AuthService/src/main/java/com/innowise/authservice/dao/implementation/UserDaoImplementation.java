@@ -2,6 +2,7 @@ package com.innowise.authservice.dao.implementation;
 
 import com.innowise.authservice.dao.interfaces.UserDao;
 import com.innowise.authservice.entities.UserEntity;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.transaction.Transactional;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
+@Observed(name = "dao")
 @RequiredArgsConstructor
 @Transactional
 public class UserDaoImplementation implements UserDao {
@@ -64,6 +66,15 @@ public class UserDaoImplementation implements UserDao {
         }
     }
 
+    @Override
+    public Optional<UserEntity> getByRegistrationId(String registrationId) {
+        return entityManager.createQuery(
+                        "SELECT u FROM UserEntity u WHERE u.registrationId = :registrationId", UserEntity.class)
+                .setParameter("registrationId", registrationId)
+                .getResultStream()
+                .findFirst();
+    }
+
     @Override
     public boolean update(UserEntity userEntity) { // Изменено на boolean
         try {
@@ -9,6 +9,7 @@ public interface UserDao {
     Optional<UserEntity> getByUsername(String username);
     Optional<UserEntity> getByEmail(String email);
     Optional<UserEntity> getByEmailWithRoles(String email);
+    Optional<UserEntity> getByRegistrationId(String registrationId);
     boolean update(UserEntity userEntity); // Изменено на boolean
     void delete(Long id);
 }
\ No newline at end of file
@@ -13,9 +13,18 @@ public class JwtResponseDto {
     private String tokenType = "Bearer";
     private Long id;
     private String email;
+    private boolean profileEventPublished;
 
     public JwtResponseDto(String accessToken, String refreshToken) {
         this.accessToken = accessToken;
         this.refreshToken = refreshToken;
     }
+
+    public JwtResponseDto(String accessToken, String refreshToken, String tokenType, Long id, String email) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.tokenType = tokenType;
+        this.id = id;
+        this.email = email;
+    }
 }
\ No newline at end of file
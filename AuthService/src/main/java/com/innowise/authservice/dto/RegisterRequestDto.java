@@ -7,6 +7,8 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDate;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -22,4 +24,18 @@ public class RegisterRequestDto {
     @NotBlank(message = "Password is required")
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
+
+    // Optional profile fields; when all are present UserService creates the profile from the USER_REGISTERED event.
+    private String name;
+
+    private String surname;
+
+    private LocalDate birthdate;
+
+    // Optional; the gateway's registration saga id.
+    private String registrationId;
+
+    public boolean hasProfile() {
+        return name != null && !name.isBlank() && surname != null && !surname.isBlank() && birthdate != null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.innowise.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserRegisteredEventDto {
+    private Long userId;
+    private String email;
+    private String name;
+    private String surname;
+    private LocalDate birthdate;
+}
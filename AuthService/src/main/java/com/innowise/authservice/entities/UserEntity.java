@@ -29,6 +29,10 @@ public class UserEntity {
     @Column(name = "password", nullable = false)
     private String password;
 
+    /** Set by the gateway's registration saga, so it can find credentials whose response it never saw. */
+    @Column(name = "registration_id", unique = true)
+    private String registrationId;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
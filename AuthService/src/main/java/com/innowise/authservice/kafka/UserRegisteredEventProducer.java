@@ -0,0 +1,48 @@
+package com.innowise.authservice.kafka;
+
+import com.innowise.authservice.dto.UserRegisteredEventDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes USER_REGISTERED once the credentials are committed; UserService creates the profile
+ * from it. The send waits for the broker ack, bounded by {@code ack-timeout}, so the caller only
+ * skips the synchronous profile call when the event is known to be stored.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class UserRegisteredEventProducer {
+
+    private static final String TOPIC = "user-registered";
+    private final KafkaTemplate<String, UserRegisteredEventDto> kafkaTemplate;
+    private final Duration ackTimeout;
+
+    public UserRegisteredEventProducer(KafkaTemplate<String, UserRegisteredEventDto> kafkaTemplate,
+                                       @Value("${user-registered.ack-timeout:2s}") Duration ackTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.ackTimeout = ackTimeout;
+    }
+
+    public boolean sendUserRegisteredEvent(UserRegisteredEventDto event) {
+        log.debug("Sending USER_REGISTERED event for userId: {}", event.getUserId());
+        try {
+            kafkaTemplate.send(TOPIC, event.getUserId().toString(), event)
+                    .get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            log.warn("USER_REGISTERED event for userId {} was not acknowledged: {}", event.getUserId(), e.getMessage());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,106 @@
+package com.innowise.common.datasource;
+
+import com.innowise.common.web.Callers;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when a caller last committed a write, so its reads can skip replicas that have not replayed it yet.
+ * The commit time goes back to the client in the {@value #LAST_WRITE_COOKIE} cookie and therefore follows it to
+ * whichever instance serves the next request; an in-memory entry keyed by the gateway's user id covers clients
+ * that drop cookies.
+ */
+public class ReadYourWritesTracker {
+
+    public static final String LAST_WRITE_COOKIE = "last-write";
+
+    private static final String LAST_WRITE_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".lastWrite";
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final Duration stickyWindow;
+    private final Clock clock;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration stickyWindow) {
+        this(stickyWindow, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(Duration stickyWindow, Clock clock) {
+        this.stickyWindow = stickyWindow;
+        this.clock = clock;
+    }
+
+    /** Records the write once the current transaction commits; a rollback leaves nothing to wait for. */
+    public void markWrite() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(attributes.getRequest(), attributes.getResponse());
+            }
+        });
+    }
+
+    /** Epoch millis of the caller's latest write inside the sticky window, or 0 when reads may go anywhere. */
+    public long lastWriteMillis() {
+        return Callers.currentRequest().map(this::lastWriteMillis).orElse(0L);
+    }
+
+    long lastWriteMillis(HttpServletRequest request) {
+        long now = clock.millis();
+        long lastWrite = request.getAttribute(LAST_WRITE_ATTRIBUTE) instanceof Long recorded ? recorded : 0;
+        lastWrite = Math.max(lastWrite, fromCookie(request, now));
+        lastWrite = Math.max(lastWrite, Callers.userId(request).map(lastWriteByUser::get).orElse(0L));
+        return now - lastWrite <= stickyWindow.toMillis() ? lastWrite : 0;
+    }
+
+    void recordWrite(HttpServletRequest request, HttpServletResponse response) {
+        long now = clock.millis();
+        request.setAttribute(LAST_WRITE_ATTRIBUTE, now);
+        Callers.userId(request).ifPresent(userId -> {
+            lastWriteByUser.put(userId, now);
+            if (lastWriteByUser.size() > CLEANUP_THRESHOLD) {
+                lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt > stickyWindow.toMillis());
+            }
+        });
+        if (response != null && !response.isCommitted()) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(LAST_WRITE_COOKIE, Long.toString(now))
+                    .path("/")
+                    .maxAge(stickyWindow)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+    }
+
+    /** Instance clocks drift a little, but a value further ahead than the window would pin the caller to the primary. */
+    private long fromCookie(HttpServletRequest request, long now) {
+        Cookie cookie = WebUtils.getCookie(request, LAST_WRITE_COOKIE);
+        if (cookie == null) {
+            return 0;
+        }
+        try {
+            long writtenAt = Long.parseLong(cookie.getValue());
+            return writtenAt <= now + stickyWindow.toMillis() ? writtenAt : 0;
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.innowise.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls every replica for its lag and for whether it has replayed the primary's WAL position read at the start of
+ * the check. A replica that has is known to hold every commit made before that moment, which is what
+ * {@link #pickReplica(long)} compares a caller's last write against.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+    private static final String REPLICA_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END, "
+            + "pg_wal_lsn_diff(pg_last_wal_replay_lsn(), CAST(? AS pg_lsn)) >= 0";
+    private static final String UNKNOWN_LSN = "0/0";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+    private final Map<String, Long> caughtUpTo = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> healthy = List.of();
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                             Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        replicas.keySet().forEach(replica -> Gauge.builder("datasource.replica.lag", lagMillis,
+                        lags -> lags.getOrDefault(replica, -1L))
+                .tag("replica", replica)
+                .baseUnit("milliseconds")
+                .register(meterRegistry));
+    }
+
+    @PostConstruct
+    void start() {
+        refresh();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    /** A healthy replica known to hold every commit up to {@code notBeforeMillis}; 0 accepts any healthy one. */
+    public Optional<String> pickReplica(long notBeforeMillis) {
+        List<String> candidates = healthy;
+        if (notBeforeMillis > 0) {
+            candidates = candidates.stream()
+                    .filter(replica -> caughtUpTo.getOrDefault(replica, 0L) >= notBeforeMillis)
+                    .toList();
+        }
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size())));
+    }
+
+    void refresh() {
+        long checkedAt = System.currentTimeMillis();
+        String primaryLsn = primaryLsn();
+        List<String> inSync = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(REPLICA_QUERY)) {
+                statement.setString(1, primaryLsn != null ? primaryLsn : UNKNOWN_LSN);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    long lag = resultSet.getLong(1);
+                    lagMillis.put(name, lag);
+                    if (primaryLsn != null && resultSet.getBoolean(2)) {
+                        caughtUpTo.put(name, checkedAt);
+                    }
+                    if (lag <= maxLag.toMillis()) {
+                        inSync.add(name);
+                    } else {
+                        log.warn("Replica {} is {} ms behind, routing its reads to the primary", name, lag);
+                    }
+                }
+            } catch (Exception ex) {
+                lagMillis.remove(name);
+                log.warn("Replica {} is unavailable, routing its reads to the primary: {}", name, ex.getMessage());
+            }
+        });
+        healthy = List.copyOf(inSync);
+    }
+
+    private String primaryLsn() {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(PRIMARY_LSN_QUERY)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        } catch (Exception ex) {
+            log.warn("Could not read the primary WAL position, replicas stay as fresh as last known: {}",
+                    ex.getMessage());
+            return null;
+        }
+    }
+}
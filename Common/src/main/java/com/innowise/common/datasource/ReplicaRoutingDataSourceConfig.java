@@ -0,0 +1,84 @@
+package com.innowise.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Services pull this in with {@code @Import}; it stays inert unless replicas are switched on. */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingDataSourceConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replicas.sticky-window:5s}") Duration stickyWindow) {
+        return new ReadYourWritesTracker(stickyWindow);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties,
+                                               Environment environment,
+                                               @Value("${datasource.replicas.urls}") List<String> replicaUrls,
+                                               @Value("${datasource.replicas.max-lag:2s}") Duration maxLag,
+                                               @Value("${datasource.replicas.check-interval:1s}") Duration checkInterval,
+                                               MeterRegistry meterRegistry) {
+        HikariDataSource primary = hikari(properties, environment, ReplicaRoutingDataSource.PRIMARY, properties.getUrl(),
+                meterRegistry);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + i;
+            replicas.put(name, hikari(properties, environment, name, replicaUrls.get(i), meterRegistry));
+        }
+        return new ReplicaLagMonitor(primary, replicas, maxLag, checkInterval, meterRegistry);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(ReplicaLagMonitor replicaLagMonitor,
+                                                             ReadYourWritesTracker readYourWritesTracker) {
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.replicas());
+        DataSource primary = replicaLagMonitor.primary();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(replicaLagMonitor, readYourWritesTracker);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primary);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /** These pools are not beans, so Boot's pool metrics do not see them; each gets hikaricp.* meters tagged pool=name. */
+    private HikariDataSource hikari(DataSourceProperties properties, Environment environment, String name, String url,
+                                    MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,27 @@
+package com.innowise.common.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/** Where {@link IdempotentRequestExecutor} keeps its keys; each service backs it with its own database. */
+public interface IdempotencyKeyStore {
+
+    /**
+     * Inserts an in-progress record for the key, or takes over a record whose expiry has passed.
+     * Returns false when a live record already exists.
+     */
+    boolean claim(String key, String requestHash, Instant expiresAt);
+
+    /** Must read the primary: the record was just written, and a lagging replica would hide it from a retry. */
+    Optional<IdempotencyRecord> find(String key);
+
+    void complete(String key, int responseStatus, String responseBody, Instant expiresAt);
+
+    /** Deletes the key if it is still in progress, so the request can be retried. */
+    void release(String key);
+
+    /** Stores that expire records on their own, like a Mongo TTL index, have nothing to purge. */
+    default int deleteExpired() {
+        return 0;
+    }
+}
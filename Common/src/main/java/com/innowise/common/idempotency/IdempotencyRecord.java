@@ -0,0 +1,4 @@
+package com.innowise.common.idempotency;
+
+public record IdempotencyRecord(String requestHash, boolean completed, Integer responseStatus, String responseBody) {
+}
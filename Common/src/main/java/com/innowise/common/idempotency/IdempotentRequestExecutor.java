@@ -0,0 +1,202 @@
+package com.innowise.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.common.web.Callers;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per caller and Idempotency-Key. The first request claims the
+ * key for a short lease, runs, and stores its response for the full TTL; later requests with the
+ * same key and body get that response back. Duplicates arriving on this instance while the first
+ * is still running wait for it instead of hitting the database; duplicates on other instances get
+ * 409 until it finishes. If the instance dies mid-request the lease runs out and a retry runs again.
+ * Services register it with {@code @Import} and provide an {@link IdempotencyKeyStore} bean.
+ */
+public class IdempotentRequestExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotentRequestExecutor.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String ANONYMOUS = "anonymous";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Duration purgeInterval;
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public IdempotentRequestExecutor(IdempotencyKeyStore store,
+                                     ObjectMapper objectMapper,
+                                     @Value("${idempotency.ttl:24h}") Duration ttl,
+                                     @Value("${idempotency.lease:30s}") Duration lease,
+                                     @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+                                     @Value("${idempotency.purge-interval:10m}") Duration purgeInterval) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.purgeInterval = purgeInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startPurging() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-key-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::purgeExpired, purgeInterval.toMillis(), purgeInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters long");
+        }
+        String key = scope + ":" + Callers.currentUserId().orElse(ANONYMOUS) + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        while (true) {
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                await(running);
+                continue;
+            }
+            try {
+                return executeClaimed(key, requestHash, responseType, action);
+            } finally {
+                inFlight.remove(key, mine);
+                mine.complete(null);
+            }
+        }
+    }
+
+    private <T> ResponseEntity<T> executeClaimed(String key, String requestHash, Class<T> responseType,
+                                                 Supplier<ResponseEntity<T>> action) {
+        if (!store.claim(key, requestHash, Instant.now().plus(lease))) {
+            IdempotencyRecord existing = store.find(key).orElseThrow(IdempotentRequestExecutor::inProgress);
+            if (!existing.requestHash().equals(requestHash)) {
+                throw new InvalidIdempotencyKeyException(HEADER + " was already used with a different request");
+            }
+            if (!existing.completed()) {
+                throw inProgress();
+            }
+            return replay(existing, responseType);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            release(key);
+            throw ex;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(key);
+            return response;
+        }
+        try {
+            store.complete(key, response.getStatusCode().value(), objectMapper.writeValueAsString(response.getBody()),
+                    Instant.now().plus(ttl));
+        } catch (RuntimeException | JsonProcessingException ex) {
+            // Retries get 409 until the lease runs out, then run again.
+            log.warn("Could not store response for idempotency key {}: {}", key, ex.getMessage());
+        }
+        return response;
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord stored, Class<T> responseType) {
+        try {
+            T body = stored.responseBody() == null ? null
+                    : objectMapper.readValue(stored.responseBody(), responseType);
+            return ResponseEntity.status(stored.responseStatus())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored response for idempotency key is unreadable", ex);
+        }
+    }
+
+    private void await(CompletableFuture<Void> running) {
+        try {
+            running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw inProgress();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void release(String key) {
+        try {
+            store.release(key);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release idempotency key {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private void purgeExpired() {
+        try {
+            int deleted = store.deleteExpired();
+            log.debug("Purged {} expired idempotency keys", deleted);
+        } catch (RuntimeException ex) {
+            log.warn("Idempotency key purge failed: {}", ex.getMessage());
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Could not hash request", ex);
+        }
+    }
+
+    private static IdempotentRequestInProgressException inProgress() {
+        return new IdempotentRequestInProgressException("A request with this " + HEADER + " is still being processed");
+    }
+}
@@ -0,0 +1,9 @@
+package com.innowise.common.idempotency;
+
+/** Another request with the same key has not finished yet; services answer 409. */
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
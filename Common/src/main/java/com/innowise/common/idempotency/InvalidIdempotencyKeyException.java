@@ -0,0 +1,9 @@
+package com.innowise.common.idempotency;
+
+/** The key is malformed or was already used with a different request; services answer 400. */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package com.innowise.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in {@code rate} traces' INFO-and-below events from the configured logger prefixes.
+ * The decision is a function of the trace id in MDC, so a request's lines are kept or dropped
+ * together, and in every service it passes through. Events outside a trace fall back to one in
+ * {@code rate} by count. WARN and ERROR are never sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    static final String TRACE_ID_KEY = "traceId";
+
+    private final AtomicLong counter = new AtomicLong();
+    private List<String> loggers = List.of();
+    private int rate = 1;
+
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toList();
+    }
+
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rate == 1 || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !sampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        String traceId = MDC.get(TRACE_ID_KEY);
+        long bucket = traceId == null || traceId.isEmpty() ? counter.getAndIncrement() : traceBucket(traceId);
+        return Long.remainderUnsigned(bucket, rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /** Trace ids are random hex, so their low 64 bits are already uniform; anything else is hashed. */
+    static long traceBucket(String traceId) {
+        try {
+            return Long.parseUnsignedLong(traceId.substring(Math.max(0, traceId.length() - 16)), 16);
+        } catch (NumberFormatException ex) {
+            return Integer.toUnsignedLong(traceId.hashCode());
+        }
+    }
+
+    private boolean sampled(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.innowise.common.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+/** The end user behind a request, as established by the gateway. */
+public final class Callers {
+
+    /** Set by the gateway from the verified JWT; any value the client sends itself is stripped there. */
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    private Callers() {
+    }
+
+    public static Optional<String> currentUserId() {
+        return currentRequest().flatMap(Callers::userId);
+    }
+
+    public static Optional<String> userId(HttpServletRequest request) {
+        return Optional.ofNullable(request.getHeader(USER_ID_HEADER)).filter(userId -> !userId.isBlank());
+    }
+
+    public static Optional<HttpServletRequest> currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return Optional.of(attributes.getRequest());
+        }
+        return Optional.empty();
+    }
+}
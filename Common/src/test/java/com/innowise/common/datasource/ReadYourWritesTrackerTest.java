@@ -0,0 +1,75 @@
+package com.innowise.common.datasource;
+
+import com.innowise.common.web.Callers;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTrackerTest {
+
+    private static final long NOW = 1_750_000_000_000L;
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    @Test
+    void testWriteSetsCookieReadByAnotherInstance() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tracker(NOW).recordWrite(new MockHttpServletRequest(), response);
+
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(setCookie);
+        assertTrue(setCookie.startsWith(ReadYourWritesTracker.LAST_WRITE_COOKIE + "=" + NOW));
+        assertTrue(setCookie.contains("Max-Age=5"));
+
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(new Cookie(ReadYourWritesTracker.LAST_WRITE_COOKIE, Long.toString(NOW)));
+        assertEquals(NOW, tracker(NOW + 1_000).lastWriteMillis(next));
+    }
+
+    @Test
+    void testUserIdCoversClientsWithoutCookies() {
+        ReadYourWritesTracker tracker = tracker(NOW);
+        tracker.recordWrite(request("42"), new MockHttpServletResponse());
+
+        assertEquals(NOW, tracker.lastWriteMillis(request("42")));
+        assertEquals(0, tracker.lastWriteMillis(request("7")));
+    }
+
+    @Test
+    void testWritesOutsideWindowAreForgotten() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesTracker.LAST_WRITE_COOKIE, Long.toString(NOW)));
+
+        assertEquals(0, tracker(NOW + WINDOW.toMillis() + 1).lastWriteMillis(request));
+    }
+
+    @Test
+    void testMalformedOrFarFutureCookieIsIgnored() {
+        MockHttpServletRequest garbage = new MockHttpServletRequest();
+        garbage.setCookies(new Cookie(ReadYourWritesTracker.LAST_WRITE_COOKIE, "soon"));
+        MockHttpServletRequest future = new MockHttpServletRequest();
+        future.setCookies(new Cookie(ReadYourWritesTracker.LAST_WRITE_COOKIE,
+                Long.toString(NOW + WINDOW.toMillis() + 1)));
+
+        assertEquals(0, tracker(NOW).lastWriteMillis(garbage));
+        assertEquals(0, tracker(NOW).lastWriteMillis(future));
+    }
+
+    private static ReadYourWritesTracker tracker(long nowMillis) {
+        return new ReadYourWritesTracker(WINDOW, Clock.fixed(Instant.ofEpochMilli(nowMillis), ZoneOffset.UTC));
+    }
+
+    private static MockHttpServletRequest request(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Callers.USER_ID_HEADER, userId);
+        return request;
+    }
+}
@@ -0,0 +1,233 @@
+package com.innowise.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.common.web.Callers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentRequestExecutorTest {
+
+    private static final String KEY = "orders:1:key-1";
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Mock
+    private IdempotencyKeyStore store;
+
+    private IdempotentRequestExecutor executor;
+
+    private final Order request = new Order(null, 1L, "NEW");
+
+    @BeforeEach
+    void setUp() {
+        executor = new IdempotentRequestExecutor(store, new ObjectMapper(), TTL, LEASE, Duration.ofSeconds(5),
+                Duration.ofMinutes(10));
+        actAs("1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testExecute_WithoutKey_RunsActionDirectly() {
+        ResponseEntity<Order> response = executor.execute("orders", null, request, Order.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(request));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void testExecute_FirstRequest_ClaimsShortLeaseAndStoresResponseForTtl() {
+        ArgumentCaptor<Instant> claimedUntil = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> storedUntil = ArgumentCaptor.forClass(Instant.class);
+        when(store.claim(eq(KEY), anyString(), claimedUntil.capture())).thenReturn(true);
+        Instant start = Instant.now();
+
+        ResponseEntity<Order> response = executor.execute("orders", "key-1", request, Order.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(created()));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        verify(store).complete(eq(KEY), eq(201), contains("\"id\":10"), storedUntil.capture());
+        verify(store, never()).release(anyString());
+        assertTrue(claimedUntil.getValue().isBefore(start.plus(LEASE).plusSeconds(5)));
+        assertTrue(storedUntil.getValue().isAfter(start.plus(TTL).minusSeconds(5)));
+    }
+
+    @Test
+    void testExecute_SameKeyFromAnotherUser_IsAnotherKey() {
+        actAs("2");
+        when(store.claim(eq("orders:2:key-1"), anyString(), any(Instant.class))).thenReturn(true);
+
+        executor.execute("orders", "key-1", request, Order.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(created()));
+
+        verify(store, never()).claim(eq(KEY), anyString(), any(Instant.class));
+        verify(store).complete(eq("orders:2:key-1"), eq(201), anyString(), any(Instant.class));
+    }
+
+    @Test
+    void testExecute_CompletedKey_ReplaysStoredResponse() {
+        AtomicReference<String> hash = new AtomicReference<>();
+        when(store.claim(eq(KEY), anyString(), any(Instant.class))).thenAnswer(invocation -> {
+            hash.set(invocation.getArgument(1));
+            return false;
+        });
+        when(store.find(KEY)).thenAnswer(invocation -> Optional.of(
+                new IdempotencyRecord(hash.get(), true, 201, "{\"id\":10,\"userId\":1}")));
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<Order> response = executor.execute("orders", "key-1", request, Order.class, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(created());
+        });
+
+        assertEquals(0, calls.get());
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(10L, response.getBody().id());
+        assertEquals("true", response.getHeaders().getFirst(IdempotentRequestExecutor.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testExecute_KeyReusedWithDifferentRequest_ThrowsInvalidKey() {
+        when(store.claim(eq(KEY), anyString(), any(Instant.class))).thenReturn(false);
+        when(store.find(KEY)).thenReturn(Optional.of(new IdempotencyRecord("other-hash", true, 201, "{}")));
+
+        assertThrows(InvalidIdempotencyKeyException.class, () -> executor.execute("orders", "key-1", request,
+                Order.class, () -> ResponseEntity.ok(created())));
+    }
+
+    @Test
+    void testExecute_KeyInProgressElsewhere_ThrowsInProgress() {
+        AtomicReference<String> hash = new AtomicReference<>();
+        when(store.claim(eq(KEY), anyString(), any(Instant.class))).thenAnswer(invocation -> {
+            hash.set(invocation.getArgument(1));
+            return false;
+        });
+        when(store.find(KEY)).thenAnswer(invocation -> Optional.of(new IdempotencyRecord(hash.get(), false, null, null)));
+
+        assertThrows(IdempotentRequestInProgressException.class, () -> executor.execute("orders", "key-1", request,
+                Order.class, () -> ResponseEntity.ok(created())));
+    }
+
+    @Test
+    void testExecute_ActionFails_ReleasesKey() {
+        when(store.claim(eq(KEY), anyString(), any(Instant.class))).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> executor.execute("orders", "key-1", request, Order.class,
+                () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        verify(store).release(KEY);
+        verify(store, never()).complete(anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testExecute_BlankKey_ThrowsInvalidKey() {
+        assertThrows(InvalidIdempotencyKeyException.class, () -> executor.execute("orders", " ", request, Order.class,
+                () -> ResponseEntity.ok(created())));
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void testExecute_ConcurrentDuplicate_WaitsAndReplays() throws Exception {
+        AtomicReference<String> hash = new AtomicReference<>();
+        AtomicReference<String> storedBody = new AtomicReference<>();
+        when(store.claim(eq(KEY), anyString(), any(Instant.class))).thenAnswer(invocation -> {
+            hash.set(invocation.getArgument(1));
+            return storedBody.get() == null;
+        });
+        doAnswer(invocation -> {
+            storedBody.set(invocation.getArgument(2));
+            return null;
+        }).when(store).complete(eq(KEY), eq(201), anyString(), any(Instant.class));
+        when(store.find(KEY)).thenAnswer(invocation -> Optional.of(
+                new IdempotencyRecord(hash.get(), true, 201, storedBody.get())));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<Order>> first = pool.submit(() -> {
+                actAs("1");
+                return executor.execute("orders", "key-1", request, Order.class, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(created());
+                });
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<ResponseEntity<Order>> second = pool.submit(() -> {
+                actAs("1");
+                return executor.execute("orders", "key-1", request, Order.class, () -> {
+                    calls.incrementAndGet();
+                    return ResponseEntity.status(HttpStatus.CREATED).body(created());
+                });
+            });
+            release.countDown();
+
+            assertEquals(10L, first.get(5, TimeUnit.SECONDS).getBody().id());
+            ResponseEntity<Order> replayed = second.get(5, TimeUnit.SECONDS);
+            assertEquals(10L, replayed.getBody().id());
+            assertEquals("true", replayed.getHeaders().getFirst(IdempotentRequestExecutor.REPLAYED_HEADER));
+            assertEquals(1, calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Order created() {
+        return new Order(10L, 1L, "NEW");
+    }
+
+    private static void actAs(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Callers.USER_ID_HEADER, userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Order(Long id, Long userId, String status) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.innowise.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private static final int RATE = 4;
+
+    private final SamplingTurboFilter filter = new SamplingTurboFilter();
+    private final Logger sampledLogger = new LoggerContext().getLogger("com.innowise.test.controller.Endpoint");
+
+    @BeforeEach
+    void setUp() {
+        filter.setLoggers("com.innowise.test.controller");
+        filter.setRate(RATE);
+        sampledLogger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void testLinesOfOneTraceAreKeptOrDroppedTogether() {
+        for (int i = 0; i < 100; i++) {
+            MDC.put(SamplingTurboFilter.TRACE_ID_KEY, randomTraceId());
+            Set<FilterReply> replies = new HashSet<>();
+            for (int line = 0; line < 10; line++) {
+                replies.add(decide(Level.INFO));
+            }
+            assertEquals(1, replies.size());
+        }
+    }
+
+    @Test
+    void testRoughlyOneInRateTracesIsKept() {
+        int kept = 0;
+        int traces = 4_000;
+        for (int i = 0; i < traces; i++) {
+            MDC.put(SamplingTurboFilter.TRACE_ID_KEY, randomTraceId());
+            if (decide(Level.INFO) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        assertEquals(traces / RATE, kept, traces / RATE / 5.0);
+    }
+
+    @Test
+    void testWarningsAreNeverSampled() {
+        MDC.put(SamplingTurboFilter.TRACE_ID_KEY, droppedTraceId());
+
+        assertEquals(FilterReply.DENY, decide(Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.WARN));
+    }
+
+    @Test
+    void testNonHexTraceIdStillSamples() {
+        MDC.put(SamplingTurboFilter.TRACE_ID_KEY, "not-a-hex-trace");
+
+        FilterReply first = decide(Level.INFO);
+        assertEquals(first, decide(Level.INFO));
+    }
+
+    private FilterReply decide(Level level) {
+        return filter.decide(null, sampledLogger, level, "request handled", null, null);
+    }
+
+    private static String randomTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+
+    private static String droppedTraceId() {
+        return String.format("%032x", 1);
+    }
+}
@@ -1,13 +1,17 @@
 package com.innowise.orderservice;
 
+import com.innowise.common.datasource.ReplicaRoutingDataSourceConfig;
+import com.innowise.common.idempotency.IdempotentRequestExecutor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
 
 @SpringBootApplication
 @EnableFeignClients
 @EnableKafka
+@Import({ReplicaRoutingDataSourceConfig.class, IdempotentRequestExecutor.class})
 public class OrderServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,44 @@
+package com.innowise.orderservice.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * resilience4j already publishes the current breaker state as a gauge; a scrape can miss a
+ * breaker that opened and closed again in between, so every state transition is also counted.
+ */
+@Configuration
+public class CircuitBreakerMetricsConfig {
+
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker> circuitBreakerTransitionCounter(MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> event) {
+                CircuitBreaker circuitBreaker = event.getAddedEntry();
+                circuitBreaker.getEventPublisher().onStateTransition(transition -> Counter
+                        .builder("resilience4j.circuitbreaker.transitions")
+                        .tag("name", circuitBreaker.getName())
+                        .tag("from", transition.getStateTransition().getFromState().name())
+                        .tag("to", transition.getStateTransition().getToState().name())
+                        .register(meterRegistry)
+                        .increment());
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> event) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> event) {
+            }
+        };
+    }
+}
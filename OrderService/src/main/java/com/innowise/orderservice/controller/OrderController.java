@@ -1,5 +1,6 @@
 package com.innowise.orderservice.controller;
 
+import com.innowise.common.idempotency.IdempotentRequestExecutor;
 import com.innowise.orderservice.dto.models.OrderDto;
 import com.innowise.orderservice.dto.models.OrderWithUserDto;
 import com.innowise.orderservice.exceptions.NotFoundException;
@@ -8,11 +9,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,23 +27,33 @@ public class OrderController {
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
 
     private final OrderService orderService;
+    private final IdempotentRequestExecutor idempotentRequestExecutor;
 
     @Value("${internal.service.token}")
     private String internalTokenValue;
 
+    @Value("${http-cache.max-age:5s}")
+    private Duration cacheMaxAge;
+
     @PostMapping
-    public ResponseEntity<OrderWithUserDto> create(@Valid @RequestBody OrderDto orderDto) {
-        logger.info("Creating new order for userId: {}", orderDto.getUserId());
-        OrderWithUserDto createdOrder = orderService.create(orderDto);
-        logger.info("Successfully created order with ID: {}", createdOrder.getOrder().getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+    public ResponseEntity<OrderWithUserDto> create(
+            @Valid @RequestBody OrderDto orderDto,
+            @RequestHeader(value = IdempotentRequestExecutor.HEADER, required = false) String idempotencyKey) {
+        logger.debug("Creating new order for userId: {}", orderDto.getUserId());
+        return idempotentRequestExecutor.execute("orders", idempotencyKey, orderDto, OrderWithUserDto.class, () -> {
+            OrderWithUserDto createdOrder = orderService.create(orderDto);
+            logger.info("Successfully created order with ID: {}", createdOrder.getOrder().getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+        });
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderWithUserDto> getById(@PathVariable Long id) {
         logger.debug("Getting order by id: {}", id);
         Optional<OrderWithUserDto> order = orderService.getById(id);
-        return order.map(ResponseEntity::ok)
+        return order.map(body -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(cacheMaxAge).cachePrivate())
+                        .body(body))
                 .orElseThrow(() -> new NotFoundException("Order not found with id: " + id));
     }
 
@@ -73,7 +86,7 @@ public class OrderController {
 
     @PutMapping("/{id}")
     public ResponseEntity<OrderWithUserDto> update(@PathVariable Long id, @Valid @RequestBody OrderDto orderDto) {
-        logger.info("Updating order with id: {}", id);
+        logger.debug("Updating order with id: {}", id);
         OrderWithUserDto updatedOrder = orderService.update(id, orderDto);
         logger.info("Successfully updated order with ID: {}", id);
         return ResponseEntity.ok(updatedOrder);
@@ -81,7 +94,7 @@ public class OrderController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        logger.info("Deleting order with id: {}", id);
+        logger.debug("Deleting order with id: {}", id);
         orderService.delete(id);
         logger.info("Successfully deleted order with ID: {}", id);
         return ResponseEntity.noContent().build();
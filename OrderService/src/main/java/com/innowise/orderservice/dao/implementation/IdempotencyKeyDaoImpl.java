@@ -0,0 +1,77 @@
+package com.innowise.orderservice.dao.implementation;
+
+import com.innowise.common.idempotency.IdempotencyKeyStore;
+import com.innowise.common.idempotency.IdempotencyRecord;
+import com.innowise.orderservice.entities.IdempotencyKeyEntity;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+@Observed(name = "dao")
+@RequiredArgsConstructor
+@Transactional
+public class IdempotencyKeyDaoImpl implements IdempotencyKeyStore {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public boolean claim(String key, String requestHash, Instant expiresAt) {
+        return entityManager.createNativeQuery("""
+                        INSERT INTO idempotency_keys (idempotency_key, request_hash, status, expires_at)
+                        VALUES (:key, :hash, :status, :expiresAt)
+                        ON CONFLICT (idempotency_key) DO UPDATE
+                        SET request_hash = EXCLUDED.request_hash, status = EXCLUDED.status,
+                            response_status = NULL, response_body = NULL, expires_at = EXCLUDED.expires_at
+                        WHERE idempotency_keys.expires_at < now()""")
+                .setParameter("key", key)
+                .setParameter("hash", requestHash)
+                .setParameter("status", IdempotencyKeyEntity.IN_PROGRESS)
+                .setParameter("expiresAt", expiresAt)
+                .executeUpdate() == 1;
+    }
+
+    /** Not read-only, so it runs on the primary. */
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return Optional.ofNullable(entityManager.find(IdempotencyKeyEntity.class, key))
+                .map(entity -> new IdempotencyRecord(entity.getRequestHash(),
+                        IdempotencyKeyEntity.COMPLETED.equals(entity.getStatus()),
+                        entity.getResponseStatus(), entity.getResponseBody()));
+    }
+
+    @Override
+    public void complete(String key, int responseStatus, String responseBody, Instant expiresAt) {
+        entityManager.createQuery("""
+                        UPDATE IdempotencyKeyEntity k
+                        SET k.status = :status, k.responseStatus = :responseStatus, k.responseBody = :responseBody,
+                            k.expiresAt = :expiresAt
+                        WHERE k.key = :key""")
+                .setParameter("status", IdempotencyKeyEntity.COMPLETED)
+                .setParameter("responseStatus", responseStatus)
+                .setParameter("responseBody", responseBody)
+                .setParameter("expiresAt", expiresAt)
+                .setParameter("key", key)
+                .executeUpdate();
+    }
+
+    @Override
+    public void release(String key) {
+        entityManager.createQuery("DELETE FROM IdempotencyKeyEntity k WHERE k.key = :key AND k.status = :status")
+                .setParameter("key", key)
+                .setParameter("status", IdempotencyKeyEntity.IN_PROGRESS)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteExpired() {
+        return entityManager.createQuery("DELETE FROM IdempotencyKeyEntity k WHERE k.expiresAt < :now")
+                .setParameter("now", Instant.now())
+                .executeUpdate();
+    }
+}
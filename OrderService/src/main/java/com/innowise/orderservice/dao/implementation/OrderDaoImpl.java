@@ -2,18 +2,20 @@ package com.innowise.orderservice.dao.implementation;
 
 import com.innowise.orderservice.dao.interfaces.OrderDao;
 import com.innowise.orderservice.entities.OrderEntity;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Observed(name = "dao")
 @RequiredArgsConstructor
 @Transactional
 public class OrderDaoImpl implements OrderDao {
@@ -30,6 +32,7 @@ public class OrderDaoImpl implements OrderDao {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<OrderEntity> getById(Long id) {
         logger.debug("Getting order by id: {}", id);
         OrderEntity order = entityManager.find(OrderEntity.class, id);
@@ -37,6 +40,7 @@ public class OrderDaoImpl implements OrderDao {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderEntity> getByIds(List<Long> ids) {
         logger.debug("Getting orders by ids: {}", ids);
         if (ids == null || ids.isEmpty()) {
@@ -49,6 +53,7 @@ public class OrderDaoImpl implements OrderDao {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderEntity> getByStatuses(List<String> statuses) {
         logger.debug("Getting orders by statuses: {}", statuses);
         if (statuses == null || statuses.isEmpty()) {
@@ -1,18 +1,25 @@
 package com.innowise.orderservice.exceptions;
 
+import com.innowise.common.idempotency.IdempotentRequestInProgressException;
+import com.innowise.common.idempotency.InvalidIdempotencyKeyException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.sql.SQLTransientConnectionException;
+
 @Slf4j
 @RestControllerAdvice
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
-    @ExceptionHandler(BadRequestException.class)
-    public ResponseEntity<ErrorDTO> handleBadRequestException(BadRequestException ex) {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler({BadRequestException.class, InvalidIdempotencyKeyException.class})
+    public ResponseEntity<ErrorDTO> handleBadRequestException(RuntimeException ex) {
         log.error("BadRequestException: {}", ex.getMessage());
         return ResponseEntity.badRequest().body(ErrorDTO.builder()
                 .error("Bad Request")
@@ -29,6 +36,15 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
                 .build());
     }
 
+    @ExceptionHandler({DuplicateException.class, IdempotentRequestInProgressException.class})
+    public ResponseEntity<ErrorDTO> handleDuplicateException(RuntimeException ex) {
+        log.error("DuplicateException: {}", ex.getMessage());
+        return ResponseEntity.status(org.springframework.http.HttpStatus.CONFLICT).body(ErrorDTO.builder()
+                .error("Conflict")
+                .errorDescription(ex.getMessage())
+                .build());
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorDTO> handleConstraintViolationException(ConstraintViolationException ex) {
         log.error("ConstraintViolationException: {}", ex.getMessage());
@@ -40,11 +56,32 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDTO> handleGenericException(Exception ex) {
+        if (isConnectionWaitTimeout(ex)) {
+            log.warn("Shedding request, no database connection freed up in time: {}", ex.getMessage());
+            return ResponseEntity.status(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(ErrorDTO.builder()
+                            .error("Service Unavailable")
+                            .errorDescription("Too many concurrent requests, retry later")
+                            .build());
+        }
         log.error("Unexpected exception occurred", ex);
         return ResponseEntity.status(org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR).body(ErrorDTO.builder()
                 .error("Internal Server Error")
                 .errorDescription("An unexpected error occurred")
                 .build());
     }
-}
 
+    /**
+     * Hikari gives up on a connection after spring.datasource.hikari.connection-timeout; only
+     * requests that actually wait for the pool are shed, whatever wraps the timeout on the way up.
+     */
+    private static boolean isConnectionWaitTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
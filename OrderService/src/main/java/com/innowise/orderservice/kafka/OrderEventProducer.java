@@ -17,7 +17,7 @@ public class OrderEventProducer {
     private final KafkaTemplate<String, CreateOrderEventDto> kafkaTemplate;
 
     public void sendCreateOrderEvent(CreateOrderEventDto event) {
-        log.info("Sending CREATE_ORDER event for orderId: {}", event.getOrderId());
+        log.debug("Sending CREATE_ORDER event for orderId: {}", event.getOrderId());
         kafkaTemplate.send(TOPIC, event.getOrderId().toString(), event);
     }
 }
@@ -24,7 +24,7 @@ public class PaymentEventConsumer {
         String orderStatus = mapPaymentStatusToOrderStatus(event.getStatus());
         orderService.updateOrderStatus(event.getOrderId(), orderStatus);
         
-        log.info("Updated order {} status to: {}", event.getOrderId(), orderStatus);
+        log.debug("Updated order {} status to: {}", event.getOrderId(), orderStatus);
     }
     
     private String mapPaymentStatusToOrderStatus(String paymentStatus) {
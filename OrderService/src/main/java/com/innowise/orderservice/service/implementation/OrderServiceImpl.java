@@ -14,12 +14,14 @@ import com.innowise.orderservice.exceptions.BadRequestException;
 import com.innowise.orderservice.exceptions.NotFoundException;
 import com.innowise.orderservice.kafka.OrderEventProducer;
 import com.innowise.orderservice.service.interfaces.OrderService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
@@ -27,8 +29,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+@Timed("service.method")
 @Service
-@Transactional
 @Validated
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
@@ -41,36 +43,25 @@ public class OrderServiceImpl implements OrderService {
     private final EntityManager entityManager;
     private final UserServiceClient userServiceClient;
     private final OrderEventProducer orderEventProducer;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public OrderWithUserDto create(OrderDto orderDto) {
-        logger.info("Creating order for userId: {}", orderDto.getUserId());
-        
-        OrderEntity orderEntity = orderMapper.toEntity(orderDto);
-        orderEntity.setCreationDate(LocalDateTime.now());
-        
-        if (orderDto.getOrderItems() != null && !orderDto.getOrderItems().isEmpty()) {
-            List<OrderItemEntity> orderItemEntities = orderDto.getOrderItems().stream()
-                    .map(orderItemDto -> {
-                        OrderItemEntity orderItemEntity = orderItemMapper.toEntity(orderItemDto);
-                        
-                        ItemEntity itemEntity = entityManager.find(ItemEntity.class, orderItemDto.getItemId());
-                        if (itemEntity == null) {
-                            throw new BadRequestException("Item with id " + orderItemDto.getItemId() + " not found");
-                        }
-                        
-                        orderItemEntity.setItem(itemEntity);
-                        orderItemEntity.setOrder(orderEntity);
-                        return orderItemEntity;
-                    })
-                    .collect(Collectors.toList());
-            
-            orderEntity.setOrderItems(orderItemEntities);
-        }
-        
-        orderDao.create(orderEntity);
-        logger.info("Successfully created order with ID: {}", orderEntity.getId());
-        
+        logger.debug("Creating order for userId: {}", orderDto.getUserId());
+
+        OrderEntity orderEntity = transactionTemplate.execute(status -> {
+            OrderEntity newOrder = orderMapper.toEntity(orderDto);
+            newOrder.setCreationDate(LocalDateTime.now());
+
+            if (orderDto.getOrderItems() != null && !orderDto.getOrderItems().isEmpty()) {
+                newOrder.setOrderItems(toOrderItemEntities(orderDto, newOrder));
+            }
+
+            orderDao.create(newOrder);
+            return newOrder;
+        });
+        logger.debug("Successfully created order with ID: {}", orderEntity.getId());
+
         CreateOrderEventDto event = new CreateOrderEventDto(
                 orderEntity.getId(),
                 orderEntity.getUserId(),
@@ -78,28 +69,16 @@ public class OrderServiceImpl implements OrderService {
                 orderEntity.getCreationDate()
         );
         orderEventProducer.sendCreateOrderEvent(event);
-        
-        OrderDto createdOrderDto = orderMapper.toDto(orderEntity);
-        UserDto userDto = userServiceClient.getUserById(orderDto.getUserId());
-        
-        return OrderWithUserDto.builder()
-                .order(createdOrderDto)
-                .user(userDto)
-                .build();
+
+        return withUser(orderMapper.toDto(orderEntity));
     }
 
     @Override
     public Optional<OrderWithUserDto> getById(Long id) {
         logger.debug("Getting order by id: {}", id);
         return orderDao.getById(id)
-                .map(orderEntity -> {
-                    OrderDto orderDto = orderMapper.toDto(orderEntity);
-                    UserDto userDto = userServiceClient.getUserById(orderEntity.getUserId());
-                    return OrderWithUserDto.builder()
-                            .order(orderDto)
-                            .user(userDto)
-                            .build();
-                });
+                .map(orderMapper::toDto)
+                .map(this::withUser);
     }
 
     @Override
@@ -113,14 +92,8 @@ public class OrderServiceImpl implements OrderService {
     public List<OrderWithUserDto> getByIds(List<Long> ids) {
         logger.debug("Getting orders by ids: {}", ids);
         return orderDao.getByIds(ids).stream()
-                .map(orderEntity -> {
-                    OrderDto orderDto = orderMapper.toDto(orderEntity);
-                    UserDto userDto = userServiceClient.getUserById(orderEntity.getUserId());
-                    return OrderWithUserDto.builder()
-                            .order(orderDto)
-                            .user(userDto)
-                            .build();
-                })
+                .map(orderMapper::toDto)
+                .map(this::withUser)
                 .collect(Collectors.toList());
     }
 
@@ -128,64 +101,41 @@ public class OrderServiceImpl implements OrderService {
     public List<OrderWithUserDto> getByStatuses(List<String> statuses) {
         logger.debug("Getting orders by statuses: {}", statuses);
         return orderDao.getByStatuses(statuses).stream()
-                .map(orderEntity -> {
-                    OrderDto orderDto = orderMapper.toDto(orderEntity);
-                    UserDto userDto = userServiceClient.getUserById(orderEntity.getUserId());
-                    return OrderWithUserDto.builder()
-                            .order(orderDto)
-                            .user(userDto)
-                            .build();
-                })
+                .map(orderMapper::toDto)
+                .map(this::withUser)
                 .collect(Collectors.toList());
     }
 
     @Override
     public OrderWithUserDto update(Long id, OrderDto updatedOrderDto) {
-        logger.info("Updating order with id: {}", id);
-        
-        OrderEntity existingOrder = orderDao.getById(id)
-                .orElseThrow(() -> new NotFoundException("Order not found with id: " + id));
-        
-        OrderEntity updatedOrderEntity = orderMapper.toEntity(updatedOrderDto);
-        
-        existingOrder.setStatus(updatedOrderEntity.getStatus());
-        
-        existingOrder.getOrderItems().clear();
-        
-        if (updatedOrderDto.getOrderItems() != null && !updatedOrderDto.getOrderItems().isEmpty()) {
-            List<OrderItemEntity> orderItemEntities = updatedOrderDto.getOrderItems().stream()
-                    .map(orderItemDto -> {
-                        OrderItemEntity orderItemEntity = orderItemMapper.toEntity(orderItemDto);
-                        
-                        ItemEntity itemEntity = entityManager.find(ItemEntity.class, orderItemDto.getItemId());
-                        if (itemEntity == null) {
-                            throw new BadRequestException("Item with id " + orderItemDto.getItemId() + " not found");
-                        }
-                        
-                        orderItemEntity.setItem(itemEntity);
-                        orderItemEntity.setOrder(existingOrder);
-                        return orderItemEntity;
-                    })
-                    .collect(Collectors.toList());
-            
-            existingOrder.getOrderItems().addAll(orderItemEntities);
-        }
-        
-        orderDao.update(id, existingOrder);
-        logger.info("Successfully updated order with ID: {}", id);
-        
-        OrderDto orderDto = orderMapper.toDto(existingOrder);
-        UserDto userDto = userServiceClient.getUserById(existingOrder.getUserId());
-        
-        return OrderWithUserDto.builder()
-                .order(orderDto)
-                .user(userDto)
-                .build();
+        logger.debug("Updating order with id: {}", id);
+
+        OrderDto orderDto = transactionTemplate.execute(status -> {
+            OrderEntity existingOrder = orderDao.getById(id)
+                    .orElseThrow(() -> new NotFoundException("Order not found with id: " + id));
+
+            OrderEntity updatedOrderEntity = orderMapper.toEntity(updatedOrderDto);
+
+            existingOrder.setStatus(updatedOrderEntity.getStatus());
+
+            existingOrder.getOrderItems().clear();
+
+            if (updatedOrderDto.getOrderItems() != null && !updatedOrderDto.getOrderItems().isEmpty()) {
+                existingOrder.getOrderItems().addAll(toOrderItemEntities(updatedOrderDto, existingOrder));
+            }
+
+            orderDao.update(id, existingOrder);
+            return orderMapper.toDto(existingOrder);
+        });
+        logger.debug("Successfully updated order with ID: {}", id);
+
+        return withUser(orderDto);
     }
 
     @Override
+    @Transactional
     public void updateOrderStatus(Long orderId, String status) {
-        logger.info("Updating order status for orderId: {} to status: {}", orderId, status);
+        logger.debug("Updating order status for orderId: {} to status: {}", orderId, status);
         
         if (orderDao.getById(orderId).isEmpty()) {
             throw new NotFoundException("Order not found with id: " + orderId);
@@ -193,17 +143,42 @@ public class OrderServiceImpl implements OrderService {
         
         orderDao.updateStatus(orderId, status);
         
-        logger.info("Successfully updated order status for orderId: {}", orderId);
+        logger.debug("Successfully updated order status for orderId: {}", orderId);
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        logger.info("Deleting order with id: {}", id);
+        logger.debug("Deleting order with id: {}", id);
         if (orderDao.getById(id).isEmpty()) {
             throw new NotFoundException("Order not found with id: " + id);
         }
         orderDao.delete(id);
-        logger.info("Successfully deleted order with ID: {}", id);
+        logger.debug("Successfully deleted order with ID: {}", id);
     }
-}
 
+    private List<OrderItemEntity> toOrderItemEntities(OrderDto orderDto, OrderEntity orderEntity) {
+        return orderDto.getOrderItems().stream()
+                .map(orderItemDto -> {
+                    OrderItemEntity orderItemEntity = orderItemMapper.toEntity(orderItemDto);
+
+                    ItemEntity itemEntity = entityManager.find(ItemEntity.class, orderItemDto.getItemId());
+                    if (itemEntity == null) {
+                        throw new BadRequestException("Item with id " + orderItemDto.getItemId() + " not found");
+                    }
+
+                    orderItemEntity.setItem(itemEntity);
+                    orderItemEntity.setOrder(orderEntity);
+                    return orderItemEntity;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private OrderWithUserDto withUser(OrderDto orderDto) {
+        UserDto userDto = userServiceClient.getUserById(orderDto.getUserId());
+        return OrderWithUserDto.builder()
+                .order(orderDto)
+                .user(userDto)
+                .build();
+    }
+}
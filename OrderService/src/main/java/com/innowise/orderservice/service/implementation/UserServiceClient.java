@@ -20,7 +20,7 @@ public class UserServiceClient {
 
     @CircuitBreaker(name = "userService", fallbackMethod = "getUserByIdFallback")
     public UserDto getUserById(Long userId) {
-        log.info("Fetching user info for userId: {}", userId);
+        log.debug("Fetching user info for userId: {}", userId);
         return userClient.getUserById(userId, internalToken);
     }
 
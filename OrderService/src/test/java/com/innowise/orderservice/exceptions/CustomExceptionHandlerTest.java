@@ -0,0 +1,38 @@
+package com.innowise.orderservice.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomExceptionHandlerTest {
+
+    private final CustomExceptionHandler handler = new CustomExceptionHandler();
+
+    @Test
+    void testConnectionWaitTimeoutIsShedWithRetryAfter() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction",
+                new SQLTransientConnectionException("primary - Connection is not available, request timed out after 250ms"));
+
+        ResponseEntity<ErrorDTO> response = handler.handleGenericException(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testOtherDatabaseErrorsStayInternalErrors() {
+        ResponseEntity<ErrorDTO> response = handler.handleGenericException(
+                new JpaSystemException(new RuntimeException("boom")));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
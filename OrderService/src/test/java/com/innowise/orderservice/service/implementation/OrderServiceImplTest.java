@@ -14,9 +14,12 @@ import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -52,6 +55,9 @@ class OrderServiceImplTest {
     @Mock
     private OrderEventProducer orderEventProducer;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -65,6 +71,9 @@ class OrderServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         itemEntity = new ItemEntity();
         itemEntity.setId(1L);
         itemEntity.setName("Test Item");
@@ -131,6 +140,23 @@ class OrderServiceImplTest {
         verify(orderEventProducer).sendCreateOrderEvent(any(CreateOrderEventDto.class));
     }
 
+    @Test
+    void testCreateFetchesUserAfterTransaction() {
+        when(orderMapper.toEntity(orderDto)).thenReturn(orderEntity);
+        when(orderItemMapper.toEntity(any(OrderItemDto.class))).thenReturn(orderItemEntity);
+        when(entityManager.find(ItemEntity.class, 1L)).thenReturn(itemEntity);
+        when(orderMapper.toDto(any(OrderEntity.class))).thenReturn(orderDto);
+        when(userServiceClient.getUserById(100L)).thenReturn(userDto);
+
+        orderService.create(orderDto);
+
+        InOrder inOrder = inOrder(transactionTemplate, orderDao, orderEventProducer, userServiceClient);
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(orderDao).create(any(OrderEntity.class));
+        inOrder.verify(orderEventProducer).sendCreateOrderEvent(any(CreateOrderEventDto.class));
+        inOrder.verify(userServiceClient).getUserById(100L);
+    }
+
     @Test
     void testCreateWhenItemNotFound() {
         when(orderMapper.toEntity(orderDto)).thenReturn(orderEntity);
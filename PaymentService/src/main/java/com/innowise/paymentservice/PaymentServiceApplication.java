@@ -1,11 +1,16 @@
 package com.innowise.paymentservice;
 
+import com.innowise.common.idempotency.IdempotentRequestExecutor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableKafka
+@EnableScheduling
+@Import(IdempotentRequestExecutor.class)
 public class PaymentServiceApplication {
 
     public static void main(String[] args) {
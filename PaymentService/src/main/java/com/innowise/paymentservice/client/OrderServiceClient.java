@@ -4,6 +4,7 @@ import com.innowise.paymentservice.dto.models.OrderDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -15,7 +16,7 @@ public class OrderServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderServiceClient.class);
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
     @Value("${order-service.url:http://localhost:8084}")
     private String orderServiceUrl;
@@ -23,6 +24,11 @@ public class OrderServiceClient {
     @Value("${internal.service.token:internal-service-secret}")
     private String internalToken;
 
+    // Built from Boot's builder so calls are recorded as http.client.requests.
+    public OrderServiceClient(RestTemplateBuilder restTemplateBuilder) {
+        this.restTemplate = restTemplateBuilder.build();
+    }
+
     public OrderDto getOrderById(Long orderId) {
         String url = orderServiceUrl + "/api/v1/orders/internal/" + orderId;
         
@@ -1,11 +1,16 @@
 package com.innowise.paymentservice.client;
 
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -14,21 +19,26 @@ public class RandomNumberClient {
 
     private final RestTemplate restTemplate;
 
-    @Value("${random-number.url:https://www.randomnumberapi.com/api/v1.0/random?min=1&max=100&count=1}")
+    @Value("${random-number.url:https://www.randomnumberapi.com/api/v1.0/random?min=1&max=100}")
     private String randomNumberUrl;
 
-    public Integer fetchRandomNumber() {
-        try {
-            Integer[] response = restTemplate.getForObject(randomNumberUrl, Integer[].class);
-            if (response != null && response.length > 0) {
-                log.debug("Random number API response: {}", response[0]);
-                return response[0];
-            }
-            return null;
-        } catch (RestClientException ex) {
-            log.error("Failed to fetch random number from external API: {}", ex.getMessage());
-            return null;
+    @CircuitBreaker(name = "randomNumber", fallbackMethod = "fetchRandomNumbersFallback")
+    @Bulkhead(name = "randomNumber")
+    public List<Integer> fetchRandomNumbers(int count) {
+        String url = UriComponentsBuilder.fromUriString(randomNumberUrl)
+                .replaceQueryParam("count", count)
+                .toUriString();
+        Integer[] response = restTemplate.getForObject(url, Integer[].class);
+        if (response == null) {
+            return List.of();
         }
+        log.debug("Random number API returned {} numbers", response.length);
+        return Arrays.asList(response);
+    }
+
+    private List<Integer> fetchRandomNumbersFallback(int count, Exception ex) {
+        log.error("Failed to fetch {} random numbers from external API: {}", count, ex.getMessage());
+        return List.of();
     }
 }
 
@@ -0,0 +1,37 @@
+package com.innowise.paymentservice.client;
+
+import com.innowise.paymentservice.dto.models.OrderDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+public class ReactiveOrderServiceClient {
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public ReactiveOrderServiceClient(WebClient.Builder webClientBuilder,
+                                      @Value("${order-service.url:http://localhost:8084}") String orderServiceUrl,
+                                      @Value("${internal.service.token:internal-service-secret}") String internalToken,
+                                      @Value("${order-service.timeout:2s}") Duration timeout) {
+        this.webClient = webClientBuilder
+                .baseUrl(orderServiceUrl)
+                .defaultHeader("X-Internal-Token", internalToken)
+                .build();
+        this.timeout = timeout;
+    }
+
+    public Mono<OrderDto> getOrderById(Long orderId) {
+        return webClient.get()
+                .uri("/api/v1/orders/internal/{orderId}", orderId)
+                .retrieve()
+                .bodyToMono(OrderDto.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty())
+                .timeout(timeout);
+    }
+}
@@ -0,0 +1,80 @@
+package com.innowise.paymentservice.config;
+
+import com.innowise.paymentservice.entities.IdempotencyKeyEntity;
+import com.innowise.paymentservice.entities.PaymentDailyTotalEntity;
+import com.innowise.paymentservice.entities.PaymentEntity;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Creates the Mongo indexes at startup; PaymentService has no Mongo extension for Liquibase, so this is
+ * the only place index definitions live. Payments keep four secondary indexes, each holding only the
+ * keys a query filters and sorts on: user, order and status lookups newest first, and (timestamp, _id)
+ * for the period reports. Multi-status listings merge the per-status ranges instead of sorting.
+ * Idempotency keys get a TTL index on expires_at.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    static final Set<String> RETIRED_PAYMENT_INDEXES = Set.of(
+            "order_id", "user_id", "status", "timestamp",
+            "idx_order_id", "idx_user_id", "idx_status", "idx_timestamp",
+            "idx_user_id_timestamp", "idx_status_timestamp", "idx_order_id_timestamp");
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void createIndexes() {
+        IndexOperations payments = mongoTemplate.indexOps(PaymentEntity.class);
+        payments.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .filter(RETIRED_PAYMENT_INDEXES::contains)
+                .forEach(name -> {
+                    logger.info("Dropping retired payments index {}", name);
+                    payments.dropIndex(name);
+                });
+        payments.ensureIndex(new Index()
+                .on("user_id", Sort.Direction.ASC)
+                .on("timestamp", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("idx_user_id_timestamp_id"));
+        payments.ensureIndex(new Index()
+                .on("order_id", Sort.Direction.ASC)
+                .on("timestamp", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("idx_order_id_timestamp_id"));
+        payments.ensureIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("timestamp", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("idx_status_timestamp_id"));
+        payments.ensureIndex(new Index()
+                .on("timestamp", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("idx_timestamp_id"));
+
+        mongoTemplate.indexOps(PaymentDailyTotalEntity.class).ensureIndex(new Index()
+                .on("day", Sort.Direction.ASC)
+                .on("status", Sort.Direction.ASC)
+                .named("idx_day_status"));
+
+        mongoTemplate.indexOps(IdempotencyKeyEntity.class).ensureIndex(new Index()
+                .on("expires_at", Sort.Direction.ASC)
+                .expire(Duration.ZERO)
+                .named("idx_expires_at_ttl"));
+    }
+}
@@ -1,18 +1,29 @@
 package com.innowise.paymentservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.common.idempotency.IdempotentRequestExecutor;
 import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.dto.models.PaymentPageDto;
+import com.innowise.paymentservice.dto.models.PaymentTotalDto;
 import com.innowise.paymentservice.service.interfaces.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/payments")
@@ -21,12 +32,16 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotentRequestExecutor idempotentRequestExecutor;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<PaymentDto> create(@Valid @RequestBody PaymentDto paymentDto) {
+    public ResponseEntity<PaymentDto> create(
+            @Valid @RequestBody PaymentDto paymentDto,
+            @RequestHeader(value = IdempotentRequestExecutor.HEADER, required = false) String idempotencyKey) {
         log.info("Creating payment for orderId: {}, userId: {}", paymentDto.getOrderId(), paymentDto.getUserId());
-        PaymentDto createdPayment = paymentService.create(paymentDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdPayment);
+        return idempotentRequestExecutor.execute("payments", idempotencyKey, paymentDto, PaymentDto.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(paymentService.create(paymentDto)));
     }
 
     @GetMapping("/by-order/{orderId}")
@@ -50,6 +65,48 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    @GetMapping(value = "/by-order/{orderId}", params = "size")
+    public ResponseEntity<PaymentPageDto> getPageByOrderId(@PathVariable Long orderId,
+                                                           @RequestParam int size,
+                                                           @RequestParam(required = false) String cursor) {
+        log.debug("Getting payment page by orderId: {}", orderId);
+        return ResponseEntity.ok(paymentService.getPageByOrderId(orderId, cursor, size));
+    }
+
+    @GetMapping(value = "/by-user/{userId}", params = "size")
+    public ResponseEntity<PaymentPageDto> getPageByUserId(@PathVariable Long userId,
+                                                          @RequestParam int size,
+                                                          @RequestParam(required = false) String cursor) {
+        log.debug("Getting payment page by userId: {}", userId);
+        return ResponseEntity.ok(paymentService.getPageByUserId(userId, cursor, size));
+    }
+
+    @GetMapping(value = "/by-statuses", params = "size")
+    public ResponseEntity<PaymentPageDto> getPageByStatuses(@RequestParam List<String> statuses,
+                                                            @RequestParam int size,
+                                                            @RequestParam(required = false) String cursor) {
+        log.debug("Getting payment page by statuses: {}", statuses);
+        return ResponseEntity.ok(paymentService.getPageByStatuses(statuses, cursor, size));
+    }
+
+    @GetMapping(value = "/by-order/{orderId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByOrderId(@PathVariable Long orderId) {
+        log.debug("Streaming payments by orderId: {}", orderId);
+        return ndjson(() -> paymentService.streamByOrderId(orderId));
+    }
+
+    @GetMapping(value = "/by-user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByUserId(@PathVariable Long userId) {
+        log.debug("Streaming payments by userId: {}", userId);
+        return ndjson(() -> paymentService.streamByUserId(userId));
+    }
+
+    @GetMapping(value = "/by-statuses", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByStatuses(@RequestParam List<String> statuses) {
+        log.debug("Streaming payments by statuses: {}", statuses);
+        return ndjson(() -> paymentService.streamByStatuses(statuses));
+    }
+
     @GetMapping("/total-sum")
     public ResponseEntity<BigDecimal> getTotalSumByPeriod(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -58,4 +115,40 @@ public class PaymentController {
         BigDecimal totalSum = paymentService.getTotalSumByPeriod(startDate, endDate);
         return ResponseEntity.ok(totalSum != null ? totalSum : BigDecimal.ZERO);
     }
+
+    @GetMapping("/total-sum/by-status")
+    public ResponseEntity<List<PaymentTotalDto>> getTotalSumByStatus(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.debug("Getting payment sums by status between {} and {}", startDate, endDate);
+        return ResponseEntity.ok(paymentService.getTotalSumByStatus(startDate, endDate));
+    }
+
+    @GetMapping("/total-sum/by-day")
+    public ResponseEntity<List<PaymentTotalDto>> getTotalSumByDay(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.debug("Getting daily payment sums between {} and {}", startDate, endDate);
+        return ResponseEntity.ok(paymentService.getTotalSumByDay(startDate, endDate));
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Supplier<Stream<PaymentDto>> payments) {
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<PaymentDto> stream = payments.get()) {
+                stream.forEach(payment -> writeLine(outputStream, payment));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, PaymentDto payment) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(payment));
+            outputStream.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
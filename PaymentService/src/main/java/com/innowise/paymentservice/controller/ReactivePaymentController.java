@@ -0,0 +1,48 @@
+package com.innowise.paymentservice.controller;
+
+import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.service.interfaces.ReactivePaymentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v2/payments")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePaymentController {
+
+    private final ReactivePaymentService reactivePaymentService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<PaymentDto> create(@Valid @RequestBody PaymentDto paymentDto) {
+        log.info("Creating payment for orderId: {}, userId: {}", paymentDto.getOrderId(), paymentDto.getUserId());
+        return reactivePaymentService.create(paymentDto);
+    }
+
+    @GetMapping(value = "/by-order/{orderId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PaymentDto> getByOrderId(@PathVariable Long orderId) {
+        log.debug("Getting payments by orderId: {}", orderId);
+        return reactivePaymentService.getByOrderId(orderId);
+    }
+
+    @GetMapping(value = "/by-user/{userId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PaymentDto> getByUserId(@PathVariable Long userId) {
+        log.debug("Getting payments by userId: {}", userId);
+        return reactivePaymentService.getByUserId(userId);
+    }
+
+    @GetMapping(value = "/by-statuses", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PaymentDto> getByStatuses(@RequestParam List<String> statuses) {
+        log.debug("Getting payments by statuses: {}", statuses);
+        return reactivePaymentService.getByStatuses(statuses);
+    }
+}
@@ -0,0 +1,69 @@
+package com.innowise.paymentservice.dao.implementation;
+
+import com.innowise.common.idempotency.IdempotencyKeyStore;
+import com.innowise.common.idempotency.IdempotencyRecord;
+import com.innowise.paymentservice.entities.IdempotencyKeyEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keys live in a collection with a TTL index on expires_at, so MongoDB removes them itself.
+ * The TTL monitor runs about once a minute; until then an expired key can be taken over by
+ * {@link #claim}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyDaoImpl implements IdempotencyKeyStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean claim(String key, String requestHash, Instant expiresAt) {
+        try {
+            mongoTemplate.insert(new IdempotencyKeyEntity(key, requestHash, IdempotencyKeyEntity.IN_PROGRESS,
+                    null, null, expiresAt));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            Query expired = Query.query(Criteria.where("_id").is(key).and("expires_at").lt(Instant.now()));
+            Update takeOver = new Update()
+                    .set("request_hash", requestHash)
+                    .set("status", IdempotencyKeyEntity.IN_PROGRESS)
+                    .unset("response_status")
+                    .unset("response_body")
+                    .set("expires_at", expiresAt);
+            return mongoTemplate.updateFirst(expired, takeOver, IdempotencyKeyEntity.class).getModifiedCount() == 1;
+        }
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return Optional.ofNullable(mongoTemplate.findById(key, IdempotencyKeyEntity.class))
+                .map(entity -> new IdempotencyRecord(entity.getRequestHash(),
+                        IdempotencyKeyEntity.COMPLETED.equals(entity.getStatus()),
+                        entity.getResponseStatus(), entity.getResponseBody()));
+    }
+
+    @Override
+    public void complete(String key, int responseStatus, String responseBody, Instant expiresAt) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(key)), new Update()
+                        .set("status", IdempotencyKeyEntity.COMPLETED)
+                        .set("response_status", responseStatus)
+                        .set("response_body", responseBody)
+                        .set("expires_at", expiresAt),
+                IdempotencyKeyEntity.class);
+    }
+
+    @Override
+    public void release(String key) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(key).and("status").is(IdempotencyKeyEntity.IN_PROGRESS)),
+                IdempotencyKeyEntity.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.innowise.paymentservice.dao.implementation;
+
+import com.innowise.paymentservice.dao.interfaces.PaymentDailyTotalDao;
+import com.innowise.paymentservice.entities.PaymentDailyTotalEntity;
+import com.innowise.paymentservice.entities.PaymentEntity;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentDailyTotalDaoImpl implements PaymentDailyTotalDao {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentDailyTotalDaoImpl.class);
+    private static final String STATE_COLLECTION = "payment_daily_totals_state";
+    private static final String BACKFILL_MARKER = "backfill";
+    private static final String LOCK_PREFIX = "lock:";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(LocalDate day, String status, BigDecimal amount) {
+        String dayKey = day.toString();
+        Query query = Query.query(Criteria.where("_id").is(dayKey + ":" + status));
+        Update update = new Update()
+                .setOnInsert("day", dayKey)
+                .setOnInsert("status", status)
+                .inc("total", new Decimal128(amount))
+                .inc("count", 1L);
+        mongoTemplate.upsert(query, update, PaymentDailyTotalEntity.class);
+    }
+
+    @Override
+    public BigDecimal sumBetween(LocalDate startDay, LocalDate endDay, LocalDate excludedDay) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("day", new Document("$gte", startDay.toString())
+                        .append("$lte", endDay.toString())
+                        .append("$ne", excludedDay.toString()))),
+                Document.parse("{ $group: { _id: null, total: { $sum: '$total' } } }")
+        );
+        Document result = mongoTemplate.getCollection(collectionName()).aggregate(pipeline).first();
+        if (result == null || result.get("total") == null) {
+            return BigDecimal.ZERO;
+        }
+        return result.get("total", Decimal128.class).bigDecimalValue();
+    }
+
+    /**
+     * Recomputes the rollups of closed days in [fromDay, toDay) from the payments themselves;
+     * a null fromDay means from the first payment. Today is never rebuilt, because live
+     * increments are still landing on it.
+     */
+    @Override
+    public void rebuildClosedDays(LocalDate fromDay, LocalDate toDay, ZoneId zone) {
+        LocalDate today = LocalDate.now(zone);
+        LocalDate untilDay = toDay.isAfter(today) ? today : toDay;
+        Document timestampRange = new Document("$lt", Date.from(untilDay.atStartOfDay(zone).toInstant()));
+        if (fromDay != null) {
+            timestampRange.append("$gte", Date.from(fromDay.atStartOfDay(zone).toInstant()));
+        }
+        logger.info("Rebuilding {} for days {} to {}", collectionName(), fromDay, untilDay.minusDays(1));
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("timestamp", timestampRange)),
+                new Document("$group", new Document("_id", new Document("day",
+                        new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                                .append("date", "$timestamp")
+                                .append("timezone", zone.getId())))
+                        .append("status", "$status"))
+                        .append("total", new Document("$sum", new Document("$toDecimal", "$payment_amount")))
+                        .append("count", new Document("$sum", 1L))),
+                Document.parse("{ $project: { _id: { $concat: ['$_id.day', ':', '$_id.status'] }, "
+                        + "day: '$_id.day', status: '$_id.status', total: 1, count: 1 } }"),
+                new Document("$merge", new Document("into", collectionName())
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert"))
+        );
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(PaymentEntity.class))
+                .aggregate(pipeline)
+                .toCollection();
+        logger.info("Finished rebuilding {}", collectionName());
+    }
+
+    @Override
+    public boolean isBackfilled() {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(BACKFILL_MARKER).and("backfilled_at").exists(true)),
+                STATE_COLLECTION);
+    }
+
+    @Override
+    public void markBackfilled() {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(BACKFILL_MARKER)),
+                new Update().set("backfilled_at", new Date()), STATE_COLLECTION);
+    }
+
+    /**
+     * Lease-style lock shared by all replicas: the upsert only matches a free or expired lock,
+     * so a held lock makes it try to insert a second document with the same id and fail.
+     */
+    @Override
+    public boolean tryLock(String job, String owner, Duration lease) {
+        Date now = new Date();
+        Query free = Query.query(new Criteria().andOperator(
+                Criteria.where("_id").is(LOCK_PREFIX + job),
+                new Criteria().orOperator(
+                        Criteria.where("locked_until").exists(false),
+                        Criteria.where("locked_until").lt(now))));
+        Update acquire = new Update()
+                .set("locked_by", owner)
+                .set("locked_until", new Date(now.getTime() + lease.toMillis()));
+        try {
+            mongoTemplate.upsert(free, acquire, STATE_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void unlock(String job, String owner) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(LOCK_PREFIX + job).and("locked_by").is(owner)),
+                new Update().unset("locked_until"), STATE_COLLECTION);
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(PaymentDailyTotalEntity.class);
+    }
+}
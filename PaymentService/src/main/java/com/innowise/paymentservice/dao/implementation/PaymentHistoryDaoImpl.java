@@ -0,0 +1,47 @@
+package com.innowise.paymentservice.dao.implementation;
+
+import com.innowise.paymentservice.dao.interfaces.PaymentHistoryDao;
+import com.innowise.paymentservice.entities.PaymentEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentHistoryDaoImpl implements PaymentHistoryDao {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "timestamp", "id");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${payment.history.stream-batch-size:500}")
+    private int streamBatchSize;
+
+    @Override
+    public List<PaymentEntity> findPage(Criteria filter, LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        Criteria criteria = filter;
+        if (beforeTimestamp != null && beforeId != null) {
+            criteria = new Criteria().andOperator(filter, new Criteria().orOperator(
+                    Criteria.where("timestamp").lt(beforeTimestamp),
+                    Criteria.where("timestamp").is(beforeTimestamp).and("id").lt(beforeId)));
+        }
+        return mongoTemplate.find(historyQuery(criteria).limit(limit), PaymentEntity.class);
+    }
+
+    @Override
+    public Stream<PaymentEntity> stream(Criteria filter) {
+        return mongoTemplate.stream(historyQuery(filter).cursorBatchSize(streamBatchSize), PaymentEntity.class);
+    }
+
+    private Query historyQuery(Criteria criteria) {
+        return Query.query(criteria).with(NEWEST_FIRST);
+    }
+}
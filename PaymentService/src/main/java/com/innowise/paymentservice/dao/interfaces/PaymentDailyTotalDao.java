@@ -0,0 +1,16 @@
+package com.innowise.paymentservice.dao.interfaces;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+public interface PaymentDailyTotalDao {
+    void increment(LocalDate day, String status, BigDecimal amount);
+    BigDecimal sumBetween(LocalDate startDay, LocalDate endDay, LocalDate excludedDay);
+    void rebuildClosedDays(LocalDate fromDay, LocalDate toDay, ZoneId zone);
+    boolean isBackfilled();
+    void markBackfilled();
+    boolean tryLock(String job, String owner, Duration lease);
+    void unlock(String job, String owner);
+}
@@ -1,8 +1,10 @@
 package com.innowise.paymentservice.dao.interfaces;
 
+import com.innowise.paymentservice.dto.models.PaymentTotalDto;
 import com.innowise.paymentservice.entities.PaymentEntity;
 import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -11,9 +13,37 @@ import java.util.List;
 
 @Repository
 public interface PaymentDao extends MongoRepository<PaymentEntity, Long> {
+
+    String NEWEST_FIRST = "{ 'timestamp': -1, '_id': -1 }";
+
+    @Query(value = "{ 'order_id': ?0 }", sort = NEWEST_FIRST)
     List<PaymentEntity> findByOrderId(Long orderId);
+
+    @Query(value = "{ 'user_id': ?0 }", sort = NEWEST_FIRST)
     List<PaymentEntity> findByUserId(Long userId);
+
+    @Query(value = "{ 'status': { $in: ?0 } }", sort = NEWEST_FIRST)
     List<PaymentEntity> findByStatusIn(List<String> statuses);
-    List<PaymentEntity> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
-}
 
+    @Aggregation(pipeline = {
+            "{ $match: { timestamp: { $gte: ?0, $lte: ?1 } } }",
+            "{ $group: { _id: null, total: { $sum: { $toDecimal: '$payment_amount' } } } }"
+    })
+    BigDecimal sumPaymentAmountByTimestampBetween(LocalDateTime start, LocalDateTime end);
+
+    @Aggregation(pipeline = {
+            "{ $match: { timestamp: { $gte: ?0, $lte: ?1 } } }",
+            "{ $group: { _id: '$status', total: { $sum: { $toDecimal: '$payment_amount' } } } }",
+            "{ $project: { _id: 0, status: '$_id', total: 1 } }",
+            "{ $sort: { status: 1 } }"
+    })
+    List<PaymentTotalDto> sumPaymentAmountByStatus(LocalDateTime start, LocalDateTime end);
+
+    @Aggregation(pipeline = {
+            "{ $match: { timestamp: { $gte: ?0, $lte: ?1 } } }",
+            "{ $group: { _id: { $dateTrunc: { date: '$timestamp', unit: 'day', timezone: ?2 } }, total: { $sum: { $toDecimal: '$payment_amount' } } } }",
+            "{ $project: { _id: 0, day: '$_id', total: 1 } }",
+            "{ $sort: { day: 1 } }"
+    })
+    List<PaymentTotalDto> sumPaymentAmountByDay(LocalDateTime start, LocalDateTime end, String timezone);
+}
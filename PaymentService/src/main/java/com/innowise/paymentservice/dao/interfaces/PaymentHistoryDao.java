@@ -0,0 +1,13 @@
+package com.innowise.paymentservice.dao.interfaces;
+
+import com.innowise.paymentservice.entities.PaymentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PaymentHistoryDao {
+    List<PaymentEntity> findPage(Criteria filter, LocalDateTime beforeTimestamp, Long beforeId, int limit);
+    Stream<PaymentEntity> stream(Criteria filter);
+}
@@ -0,0 +1,24 @@
+package com.innowise.paymentservice.dao.interfaces;
+
+import com.innowise.paymentservice.entities.PaymentEntity;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static com.innowise.paymentservice.dao.interfaces.PaymentDao.NEWEST_FIRST;
+
+@Repository
+public interface ReactivePaymentDao extends ReactiveMongoRepository<PaymentEntity, Long> {
+
+    @Query(value = "{ 'order_id': ?0 }", sort = NEWEST_FIRST)
+    Flux<PaymentEntity> findByOrderId(Long orderId);
+
+    @Query(value = "{ 'user_id': ?0 }", sort = NEWEST_FIRST)
+    Flux<PaymentEntity> findByUserId(Long userId);
+
+    @Query(value = "{ 'status': { $in: ?0 } }", sort = NEWEST_FIRST)
+    Flux<PaymentEntity> findByStatusIn(List<String> statuses);
+}
@@ -0,0 +1,40 @@
+package com.innowise.paymentservice.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+@Document(collection = "idempotency_keys")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyKeyEntity {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    private String id;
+
+    @Field(name = "request_hash")
+    private String requestHash;
+
+    @Field(name = "status")
+    private String status;
+
+    @Field(name = "response_status")
+    private Integer responseStatus;
+
+    @Field(name = "response_body")
+    private String responseBody;
+
+    @Field(name = "expires_at")
+    private Instant expiresAt;
+}
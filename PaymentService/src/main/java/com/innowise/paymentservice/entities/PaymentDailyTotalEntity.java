@@ -0,0 +1,35 @@
+package com.innowise.paymentservice.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+
+@Document(collection = "payment_daily_totals")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentDailyTotalEntity {
+
+    @Id
+    private String id;
+
+    @Field(name = "day")
+    private String day;
+
+    @Field(name = "status")
+    private String status;
+
+    @Field(name = "total", targetType = FieldType.DECIMAL128)
+    private BigDecimal total;
+
+    @Field(name = "count")
+    private Long count;
+}
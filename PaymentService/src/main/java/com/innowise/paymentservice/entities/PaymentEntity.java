@@ -5,9 +5,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
@@ -24,23 +24,19 @@ public class PaymentEntity {
     private Long id;
 
     @Field(name = "order_id")
-    @Indexed
     private Long orderId;
 
     @Field(name = "user_id")
-    @Indexed
     private Long userId;
 
     @Field(name = "status")
-    @Indexed
     private String status;
 
     @Field(name = "timestamp")
-    @Indexed
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime timestamp;
 
-    @Field(name = "payment_amount")
+    @Field(name = "payment_amount", targetType = FieldType.DECIMAL128)
     private BigDecimal paymentAmount;
 }
 
@@ -1,5 +1,7 @@
 package com.innowise.paymentservice.exceptions;
 
+import com.innowise.common.idempotency.IdempotentRequestInProgressException;
+import com.innowise.common.idempotency.InvalidIdempotencyKeyException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -11,8 +13,8 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 @RestControllerAdvice
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
-    @ExceptionHandler(BadRequestException.class)
-    public ResponseEntity<ErrorDTO> handleBadRequestException(BadRequestException ex) {
+    @ExceptionHandler({BadRequestException.class, InvalidIdempotencyKeyException.class})
+    public ResponseEntity<ErrorDTO> handleBadRequestException(RuntimeException ex) {
         log.error("BadRequestException: {}", ex.getMessage());
         return ResponseEntity.badRequest().body(ErrorDTO.builder()
                 .error("Bad Request")
@@ -29,6 +31,15 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
                 .build());
     }
 
+    @ExceptionHandler({DuplicateException.class, IdempotentRequestInProgressException.class})
+    public ResponseEntity<ErrorDTO> handleDuplicateException(RuntimeException ex) {
+        log.error("DuplicateException: {}", ex.getMessage());
+        return ResponseEntity.status(org.springframework.http.HttpStatus.CONFLICT).body(ErrorDTO.builder()
+                .error("Conflict")
+                .errorDescription(ex.getMessage())
+                .build());
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorDTO> handleConstraintViolationException(ConstraintViolationException ex) {
         log.error("ConstraintViolationException: {}", ex.getMessage());
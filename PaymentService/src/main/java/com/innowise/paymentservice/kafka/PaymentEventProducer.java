@@ -4,8 +4,11 @@ import com.innowise.paymentservice.dto.models.CreatePaymentEventDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -14,9 +17,9 @@ public class PaymentEventProducer {
     private static final String TOPIC = "create-payment-topic";
     private final KafkaTemplate<String, CreatePaymentEventDto> kafkaTemplate;
 
-    public void sendCreatePaymentEvent(CreatePaymentEventDto event) {
-        log.info("Sending CREATE_PAYMENT event for paymentId: {}, orderId: {}", 
+    public CompletableFuture<SendResult<String, CreatePaymentEventDto>> sendCreatePaymentEvent(CreatePaymentEventDto event) {
+        log.debug("Sending CREATE_PAYMENT event for paymentId: {}, orderId: {}", 
                 event.getPaymentId(), event.getOrderId());
-        kafkaTemplate.send(TOPIC, event.getPaymentId().toString(), event);
+        return kafkaTemplate.send(TOPIC, event.getPaymentId().toString(), event);
     }
 }
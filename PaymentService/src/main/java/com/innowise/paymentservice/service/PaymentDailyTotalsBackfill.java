@@ -0,0 +1,82 @@
+package com.innowise.paymentservice.service;
+
+import com.innowise.paymentservice.dao.interfaces.PaymentDailyTotalDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Keeps payment_daily_totals trustworthy. The first run on a database backfills every closed day
+ * once, under a lock so replicas don't rebuild concurrently, and then sets the marker that lets
+ * reports read the rollups. Later runs recompute the last few closed days, which repairs
+ * increments that failed or raced a rebuild.
+ */
+@Component
+@Slf4j
+public class PaymentDailyTotalsBackfill {
+
+    private static final String BACKFILL_JOB = "backfill";
+    private static final String RECONCILE_JOB = "reconcile";
+
+    private final PaymentDailyTotalDao paymentDailyTotalDao;
+    private final int reconcileDays;
+    private final Duration lockLease;
+    private final String owner = UUID.randomUUID().toString();
+
+    public PaymentDailyTotalsBackfill(PaymentDailyTotalDao paymentDailyTotalDao,
+                                      @Value("${payment.daily-totals.reconcile-days:3}") int reconcileDays,
+                                      @Value("${payment.daily-totals.lock-lease:1h}") Duration lockLease) {
+        this.paymentDailyTotalDao = paymentDailyTotalDao;
+        this.reconcileDays = reconcileDays;
+        this.lockLease = lockLease;
+    }
+
+    @Scheduled(initialDelayString = "${payment.daily-totals.initial-delay:10s}",
+            fixedDelayString = "${payment.daily-totals.reconcile-interval:1h}")
+    public void run() {
+        try {
+            if (paymentDailyTotalDao.isBackfilled()) {
+                reconcile();
+            } else {
+                backfill();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Payment daily totals maintenance failed: {}", ex.getMessage());
+        }
+    }
+
+    void backfill() {
+        if (!paymentDailyTotalDao.tryLock(BACKFILL_JOB, owner, lockLease)) {
+            log.info("Payment daily totals backfill is running on another instance");
+            return;
+        }
+        try {
+            if (!paymentDailyTotalDao.isBackfilled()) {
+                ZoneId zone = ZoneId.systemDefault();
+                paymentDailyTotalDao.rebuildClosedDays(null, LocalDate.now(zone), zone);
+                paymentDailyTotalDao.markBackfilled();
+            }
+        } finally {
+            paymentDailyTotalDao.unlock(BACKFILL_JOB, owner);
+        }
+    }
+
+    void reconcile() {
+        if (!paymentDailyTotalDao.tryLock(RECONCILE_JOB, owner, lockLease)) {
+            return;
+        }
+        try {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate today = LocalDate.now(zone);
+            paymentDailyTotalDao.rebuildClosedDays(today.minusDays(reconcileDays), today, zone);
+        } finally {
+            paymentDailyTotalDao.unlock(RECONCILE_JOB, owner);
+        }
+    }
+}
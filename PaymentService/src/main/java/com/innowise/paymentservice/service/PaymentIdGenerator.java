@@ -1,15 +1,102 @@
 package com.innowise.paymentservice.service;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
+/**
+ * Snowflake-style id: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of worker id
+ * and 12 bits of per-millisecond sequence. The last issued (timestamp, sequence) pair lives
+ * in a single {@link AtomicLong}, so concurrent callers only race on one CAS. If the clock
+ * moves back by less than {@code MAX_CLOCK_DRIFT_MS} the generator keeps counting on the last
+ * timestamp; when a millisecond runs out of sequence numbers callers spin until the next one.
+ */
 @Component
+@Slf4j
 public class PaymentIdGenerator {
-    
-    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis());
-    
-    public Long generateId() {
-        return counter.incrementAndGet();
+
+    static final long EPOCH = 1704067200000L;
+    static final int WORKER_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+    static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long MAX_CLOCK_DRIFT_MS = 2000;
+
+    private final long workerId;
+    private final LongSupplier clock;
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public PaymentIdGenerator(@Value("${payment.id.worker-id:}") String workerId) {
+        this(resolveWorkerId(workerId), System::currentTimeMillis);
+    }
+
+    PaymentIdGenerator(long workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID);
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+        log.info("Payment id generator started with worker id {}", workerId);
+    }
+
+    public long generateId() {
+        while (true) {
+            long current = lastState.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if (lastTimestamp - now > MAX_CLOCK_DRIFT_MS) {
+                throw new IllegalStateException(
+                        "Clock is " + (lastTimestamp - now) + " ms behind the last issued payment id");
+            } else if ((current & MAX_SEQUENCE) < MAX_SEQUENCE) {
+                next = current + 1;
+            } else {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            if (lastState.compareAndSet(current, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & MAX_SEQUENCE;
+                return (timestamp << (WORKER_ID_BITS + SEQUENCE_BITS))
+                        | (workerId << SEQUENCE_BITS)
+                        | sequence;
+            }
+        }
+    }
+
+    static long workerIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_WORKER_ID;
+    }
+
+    /**
+     * Worker ids must be unique across running replicas, so they are never guessed from the
+     * hostname: k8s passes the StatefulSet pod index and other environments set it explicitly.
+     */
+    static long resolveWorkerId(String configuredWorkerId) {
+        if (!StringUtils.hasText(configuredWorkerId)) {
+            throw new IllegalStateException("payment.id.worker-id (PAYMENT_WORKER_ID) must be set to a value between 0 and "
+                    + MAX_WORKER_ID);
+        }
+        long workerId;
+        try {
+            workerId = Long.parseLong(configuredWorkerId.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException("payment.id.worker-id is not a number: " + configuredWorkerId, ex);
+        }
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalStateException("payment.id.worker-id " + workerId + " is outside 0.." + MAX_WORKER_ID);
+        }
+        return workerId;
     }
 }
@@ -0,0 +1,27 @@
+package com.innowise.paymentservice.service.implementation;
+
+import com.innowise.paymentservice.service.interfaces.PaymentDecisionProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ConditionalOnProperty(name = "payment.decision.provider", havingValue = "local")
+public class LocalPaymentDecisionProvider implements PaymentDecisionProvider {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${payment.decision.local.min:1}")
+    private int min;
+
+    @Value("${payment.decision.local.max:100}")
+    private int max;
+
+    @Override
+    public Integer nextRandomNumber() {
+        long range = (long) max - min + 1;
+        return (int) (min + Math.floorMod(sequence.getAndIncrement(), range));
+    }
+}
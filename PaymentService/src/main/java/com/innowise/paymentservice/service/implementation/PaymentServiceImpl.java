@@ -1,85 +1,83 @@
 package com.innowise.paymentservice.service.implementation;
 
 import com.innowise.paymentservice.client.OrderServiceClient;
-import com.innowise.paymentservice.client.RandomNumberClient;
+import com.innowise.paymentservice.dao.interfaces.PaymentDailyTotalDao;
 import com.innowise.paymentservice.dao.interfaces.PaymentDao;
+import com.innowise.paymentservice.dao.interfaces.PaymentHistoryDao;
 import com.innowise.paymentservice.dto.mappers.PaymentMapper;
 import com.innowise.paymentservice.dto.models.CreatePaymentEventDto;
 import com.innowise.paymentservice.dto.models.OrderDto;
 import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.dto.models.PaymentPageDto;
+import com.innowise.paymentservice.dto.models.PaymentTotalDto;
 import com.innowise.paymentservice.entities.PaymentEntity;
 import com.innowise.paymentservice.exceptions.BadRequestException;
 import com.innowise.paymentservice.kafka.PaymentEventProducer;
 import com.innowise.paymentservice.service.PaymentIdGenerator;
+import com.innowise.paymentservice.service.interfaces.PaymentDecisionProvider;
 import com.innowise.paymentservice.service.interfaces.PaymentService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Timed("service.method")
 @Service
 @Validated
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = "|";
 
     private final PaymentDao paymentDao;
+    private final PaymentDailyTotalDao paymentDailyTotalDao;
+    private final PaymentHistoryDao paymentHistoryDao;
     private final PaymentMapper paymentMapper;
-    private final RandomNumberClient randomNumberClient;
+    private final PaymentDecisionProvider paymentDecisionProvider;
     private final PaymentEventProducer paymentEventProducer;
     private final PaymentIdGenerator paymentIdGenerator;
     private final OrderServiceClient orderServiceClient;
 
+    private volatile boolean dailyTotalsBackfilled;
+
     @Override
     public PaymentDto create(PaymentDto paymentDto) {
-        logger.info("Creating payment for orderId: {}", paymentDto.getOrderId());
+        logger.debug("Creating payment for orderId: {}", paymentDto.getOrderId());
 
         OrderDto order = orderServiceClient.getOrderById(paymentDto.getOrderId());
         if (order == null) {
             throw new BadRequestException("Order not found with ID: " + paymentDto.getOrderId());
         }
-
-        if ("PAID".equals(order.getStatus())) {
-            throw new BadRequestException("Order " + paymentDto.getOrderId() + " is already paid");
-        }
-        
-        BigDecimal orderTotal = order.getTotalAmount();
-        if (paymentDto.getPaymentAmount().compareTo(orderTotal) != 0) {
-            throw new BadRequestException(
-                String.format("Payment amount %.2f does not match order total %.2f", 
-                    paymentDto.getPaymentAmount(), orderTotal));
-        }
+        validateOrder(paymentDto, order);
 
         PaymentEntity paymentEntity = paymentMapper.toEntity(paymentDto);
         paymentEntity.setId(paymentIdGenerator.generateId());
         if (paymentEntity.getTimestamp() == null) {
             paymentEntity.setTimestamp(LocalDateTime.now());
         }
-
-        Integer randomNumber = randomNumberClient.fetchRandomNumber();
-        String status = (randomNumber != null && randomNumber % 2 == 0) ? "SUCCESS" : "FAILED";
-        paymentEntity.setStatus(status);
+        paymentEntity.setStatus(decideStatus(paymentDecisionProvider.nextRandomNumber()));
 
         PaymentEntity savedPayment = paymentDao.save(paymentEntity);
-        logger.info("Successfully created payment with ID: {}", savedPayment.getId());
-
-        CreatePaymentEventDto event = new CreatePaymentEventDto(
-                savedPayment.getId(),
-                savedPayment.getOrderId(),
-                savedPayment.getUserId(),
-                savedPayment.getStatus(),
-                savedPayment.getTimestamp(),
-                savedPayment.getPaymentAmount()
-        );
-        paymentEventProducer.sendCreatePaymentEvent(event);
+        logger.debug("Successfully created payment with ID: {}", savedPayment.getId());
+        incrementDailyTotal(savedPayment);
+
+        paymentEventProducer.sendCreatePaymentEvent(toCreatePaymentEvent(savedPayment));
 
         return paymentMapper.toDto(savedPayment);
     }
@@ -108,25 +106,170 @@ public class PaymentServiceImpl implements PaymentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public PaymentPageDto getPageByOrderId(Long orderId, String cursor, int size) {
+        logger.debug("Getting payment page by orderId: {}, size: {}", orderId, size);
+        return getPage(Criteria.where("orderId").is(orderId), cursor, size);
+    }
+
+    @Override
+    public PaymentPageDto getPageByUserId(Long userId, String cursor, int size) {
+        logger.debug("Getting payment page by userId: {}, size: {}", userId, size);
+        return getPage(Criteria.where("userId").is(userId), cursor, size);
+    }
+
+    @Override
+    public PaymentPageDto getPageByStatuses(List<String> statuses, String cursor, int size) {
+        logger.debug("Getting payment page by statuses: {}, size: {}", statuses, size);
+        return getPage(Criteria.where("status").in(statuses), cursor, size);
+    }
+
+    @Override
+    public Stream<PaymentDto> streamByOrderId(Long orderId) {
+        logger.debug("Streaming payments by orderId: {}", orderId);
+        return paymentHistoryDao.stream(Criteria.where("orderId").is(orderId)).map(paymentMapper::toDto);
+    }
+
+    @Override
+    public Stream<PaymentDto> streamByUserId(Long userId) {
+        logger.debug("Streaming payments by userId: {}", userId);
+        return paymentHistoryDao.stream(Criteria.where("userId").is(userId)).map(paymentMapper::toDto);
+    }
+
+    @Override
+    public Stream<PaymentDto> streamByStatuses(List<String> statuses) {
+        logger.debug("Streaming payments by statuses: {}", statuses);
+        return paymentHistoryDao.stream(Criteria.where("status").in(statuses)).map(paymentMapper::toDto);
+    }
+
     @Override
     public BigDecimal getTotalSumByPeriod(LocalDate startDate, LocalDate endDate) {
         logger.debug("Getting total payment sum between {} and {}", startDate, endDate);
+        validatePeriod(startDate, endDate);
+
+        if (!dailyTotalsBackfilled()) {
+            BigDecimal total = paymentDao.sumPaymentAmountByTimestampBetween(startDate.atStartOfDay(), endOfDay(endDate));
+            return total != null ? total : BigDecimal.ZERO;
+        }
+
+        LocalDate today = LocalDate.now();
+        BigDecimal total = paymentDailyTotalDao.sumBetween(startDate, endDate, today);
+        if (!today.isBefore(startDate) && !today.isAfter(endDate)) {
+            BigDecimal todayTotal = paymentDao.sumPaymentAmountByTimestampBetween(
+                    today.atStartOfDay(), endOfDay(today));
+            if (todayTotal != null) {
+                total = total.add(todayTotal);
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public List<PaymentTotalDto> getTotalSumByStatus(LocalDate startDate, LocalDate endDate) {
+        logger.debug("Getting payment sums by status between {} and {}", startDate, endDate);
+        validatePeriod(startDate, endDate);
+
+        return paymentDao.sumPaymentAmountByStatus(startDate.atStartOfDay(), endOfDay(endDate));
+    }
 
+    @Override
+    public List<PaymentTotalDto> getTotalSumByDay(LocalDate startDate, LocalDate endDate) {
+        logger.debug("Getting daily payment sums between {} and {}", startDate, endDate);
+        validatePeriod(startDate, endDate);
+
+        return paymentDao.sumPaymentAmountByDay(
+                startDate.atStartOfDay(), endOfDay(endDate), ZoneId.systemDefault().getId());
+    }
+
+    private PaymentPageDto getPage(Criteria filter, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        PageCursor after = cursor == null || cursor.isBlank() ? PageCursor.FIRST : decodeCursor(cursor);
+        List<PaymentEntity> payments = paymentHistoryDao.findPage(filter, after.timestamp(), after.id(), size + 1);
+        boolean hasNext = payments.size() > size;
+        List<PaymentEntity> page = hasNext ? payments.subList(0, size) : payments;
+
+        return PaymentPageDto.builder()
+                .content(page.stream().map(paymentMapper::toDto).collect(Collectors.toList()))
+                .nextCursor(hasNext ? encodeCursor(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    private String encodeCursor(PaymentEntity payment) {
+        String value = payment.getTimestamp() + CURSOR_SEPARATOR + payment.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PageCursor decodeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\" + CURSOR_SEPARATOR, 2);
+            return new PageCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private boolean dailyTotalsBackfilled() {
+        if (!dailyTotalsBackfilled) {
+            dailyTotalsBackfilled = paymentDailyTotalDao.isBackfilled();
+        }
+        return dailyTotalsBackfilled;
+    }
+
+    private void incrementDailyTotal(PaymentEntity payment) {
+        try {
+            paymentDailyTotalDao.increment(
+                    payment.getTimestamp().toLocalDate(), payment.getStatus(), payment.getPaymentAmount());
+        } catch (RuntimeException ex) {
+            logger.error("Failed to update daily total for payment {}: {}", payment.getId(), ex.getMessage());
+        }
+    }
+
+    static void validateOrder(PaymentDto paymentDto, OrderDto order) {
+        if ("PAID".equals(order.getStatus())) {
+            throw new BadRequestException("Order " + paymentDto.getOrderId() + " is already paid");
+        }
+
+        BigDecimal orderTotal = order.getTotalAmount();
+        if (paymentDto.getPaymentAmount().compareTo(orderTotal) != 0) {
+            throw new BadRequestException(
+                String.format("Payment amount %.2f does not match order total %.2f",
+                    paymentDto.getPaymentAmount(), orderTotal));
+        }
+    }
+
+    static String decideStatus(Integer randomNumber) {
+        return (randomNumber != null && randomNumber % 2 == 0) ? "SUCCESS" : "FAILED";
+    }
+
+    static CreatePaymentEventDto toCreatePaymentEvent(PaymentEntity payment) {
+        return new CreatePaymentEventDto(
+                payment.getId(),
+                payment.getOrderId(),
+                payment.getUserId(),
+                payment.getStatus(),
+                payment.getTimestamp(),
+                payment.getPaymentAmount()
+        );
+    }
+
+    private void validatePeriod(LocalDate startDate, LocalDate endDate) {
         if (startDate == null || endDate == null) {
             throw new BadRequestException("Start date and end date must be provided");
         }
         if (endDate.isBefore(startDate)) {
             throw new BadRequestException("End date must not be before start date");
         }
+    }
 
-        LocalDateTime start = startDate.atStartOfDay();
-        LocalDateTime end = endDate.plusDays(1).atStartOfDay().minusNanos(1);
+    private LocalDateTime endOfDay(LocalDate date) {
+        return date.plusDays(1).atStartOfDay().minusNanos(1);
+    }
 
-        List<PaymentEntity> payments = paymentDao.findByTimestampBetween(start, end);
-        return payments.stream()
-                .map(PaymentEntity::getPaymentAmount)
-                .filter(amount -> amount != null)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private record PageCursor(LocalDateTime timestamp, Long id) {
+        private static final PageCursor FIRST = new PageCursor(null, null);
     }
 }
-
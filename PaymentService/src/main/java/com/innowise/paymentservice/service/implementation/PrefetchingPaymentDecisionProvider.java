@@ -0,0 +1,108 @@
+package com.innowise.paymentservice.service.implementation;
+
+import com.innowise.paymentservice.client.RandomNumberClient;
+import com.innowise.paymentservice.service.interfaces.PaymentDecisionProvider;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "payment.decision.provider", havingValue = "remote", matchIfMissing = true)
+public class PrefetchingPaymentDecisionProvider implements PaymentDecisionProvider {
+
+    private final RandomNumberClient randomNumberClient;
+    private final int batchSize;
+    private final int lowWatermark;
+    private final Duration maxWait;
+    private final BlockingQueue<Integer> buffer;
+    private final AtomicBoolean refilling = new AtomicBoolean(false);
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "payment-decision-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PrefetchingPaymentDecisionProvider(
+            RandomNumberClient randomNumberClient,
+            @Value("${payment.decision.batch-size:50}") int batchSize,
+            @Value("${payment.decision.low-watermark:20}") int lowWatermark,
+            @Value("${payment.decision.max-wait:200ms}") Duration maxWait) {
+        this.randomNumberClient = randomNumberClient;
+        this.batchSize = batchSize;
+        this.lowWatermark = lowWatermark;
+        this.maxWait = maxWait;
+        this.buffer = new ArrayBlockingQueue<>(batchSize + lowWatermark);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        triggerRefill();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    @Override
+    public Integer nextRandomNumber() {
+        Integer number = buffer.poll();
+        if (number == null || buffer.size() < lowWatermark) {
+            triggerRefill();
+        }
+        if (number != null) {
+            return number;
+        }
+        try {
+            number = buffer.poll(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (number == null) {
+            log.warn("No payment decision available within {} ms", maxWait.toMillis());
+        }
+        return number;
+    }
+
+    int buffered() {
+        return buffer.size();
+    }
+
+    private void triggerRefill() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(this::refill);
+        } catch (RejectedExecutionException ex) {
+            refilling.set(false);
+        }
+    }
+
+    private void refill() {
+        try {
+            List<Integer> numbers = randomNumberClient.fetchRandomNumbers(batchSize);
+            numbers.stream()
+                    .filter(number -> number != null)
+                    .forEach(buffer::offer);
+            log.debug("Prefetched {} payment decisions, buffered: {}", numbers.size(), buffer.size());
+        } finally {
+            refilling.set(false);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.innowise.paymentservice.service.implementation;
+
+import com.innowise.paymentservice.client.ReactiveOrderServiceClient;
+import com.innowise.paymentservice.dao.interfaces.PaymentDailyTotalDao;
+import com.innowise.paymentservice.dao.interfaces.ReactivePaymentDao;
+import com.innowise.paymentservice.dto.mappers.PaymentMapper;
+import com.innowise.paymentservice.dto.models.OrderDto;
+import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.entities.PaymentEntity;
+import com.innowise.paymentservice.exceptions.BadRequestException;
+import com.innowise.paymentservice.kafka.PaymentEventProducer;
+import com.innowise.paymentservice.service.PaymentIdGenerator;
+import com.innowise.paymentservice.service.interfaces.PaymentDecisionProvider;
+import com.innowise.paymentservice.service.interfaces.ReactivePaymentService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.innowise.paymentservice.service.implementation.PaymentServiceImpl.decideStatus;
+import static com.innowise.paymentservice.service.implementation.PaymentServiceImpl.toCreatePaymentEvent;
+import static com.innowise.paymentservice.service.implementation.PaymentServiceImpl.validateOrder;
+
+@Service
+@Validated
+@RequiredArgsConstructor
+public class ReactivePaymentServiceImpl implements ReactivePaymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePaymentServiceImpl.class);
+
+    private final ReactivePaymentDao reactivePaymentDao;
+    private final PaymentDailyTotalDao paymentDailyTotalDao;
+    private final PaymentMapper paymentMapper;
+    private final PaymentDecisionProvider paymentDecisionProvider;
+    private final PaymentEventProducer paymentEventProducer;
+    private final PaymentIdGenerator paymentIdGenerator;
+    private final ReactiveOrderServiceClient orderServiceClient;
+
+    @Override
+    public Mono<PaymentDto> create(PaymentDto paymentDto) {
+        logger.debug("Creating payment for orderId: {}", paymentDto.getOrderId());
+
+        Mono<OrderDto> order = orderServiceClient.getOrderById(paymentDto.getOrderId())
+                .switchIfEmpty(Mono.error(() ->
+                        new BadRequestException("Order not found with ID: " + paymentDto.getOrderId())));
+        Mono<Optional<Integer>> decision = Mono
+                .fromCallable(() -> Optional.ofNullable(paymentDecisionProvider.nextRandomNumber()))
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return Mono.zip(order, decision)
+                .flatMap(result -> {
+                    validateOrder(paymentDto, result.getT1());
+
+                    PaymentEntity paymentEntity = paymentMapper.toEntity(paymentDto);
+                    paymentEntity.setId(paymentIdGenerator.generateId());
+                    if (paymentEntity.getTimestamp() == null) {
+                        paymentEntity.setTimestamp(LocalDateTime.now());
+                    }
+                    paymentEntity.setStatus(decideStatus(result.getT2().orElse(null)));
+                    return reactivePaymentDao.save(paymentEntity);
+                })
+                .doOnNext(saved -> logger.debug("Successfully created payment with ID: {}", saved.getId()))
+                .flatMap(saved -> incrementDailyTotal(saved)
+                        .then(sendCreatePaymentEvent(saved))
+                        .thenReturn(saved))
+                .map(paymentMapper::toDto);
+    }
+
+    @Override
+    public Flux<PaymentDto> getByOrderId(Long orderId) {
+        logger.debug("Getting payments by orderId: {}", orderId);
+        return reactivePaymentDao.findByOrderId(orderId).map(paymentMapper::toDto);
+    }
+
+    @Override
+    public Flux<PaymentDto> getByUserId(Long userId) {
+        logger.debug("Getting payments by userId: {}", userId);
+        return reactivePaymentDao.findByUserId(userId).map(paymentMapper::toDto);
+    }
+
+    @Override
+    public Flux<PaymentDto> getByStatuses(List<String> statuses) {
+        logger.debug("Getting payments by statuses: {}", statuses);
+        return reactivePaymentDao.findByStatusIn(statuses).map(paymentMapper::toDto);
+    }
+
+    private Mono<Void> incrementDailyTotal(PaymentEntity payment) {
+        return Mono.<Void>fromRunnable(() -> paymentDailyTotalDao.increment(
+                        payment.getTimestamp().toLocalDate(), payment.getStatus(), payment.getPaymentAmount()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(ex -> {
+                    logger.error("Failed to update daily total for payment {}: {}", payment.getId(), ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> sendCreatePaymentEvent(PaymentEntity payment) {
+        return Mono.fromFuture(() -> paymentEventProducer.sendCreatePaymentEvent(toCreatePaymentEvent(payment)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(ex -> {
+                    logger.error("Failed to publish CREATE_PAYMENT event for payment {}: {}", payment.getId(), ex.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,10 @@
+package com.innowise.paymentservice.service.interfaces;
+
+public interface PaymentDecisionProvider {
+
+    /**
+     * Returns the number that decides the payment outcome (even means success),
+     * or {@code null} when no decision is available in time.
+     */
+    Integer nextRandomNumber();
+}
@@ -1,11 +1,14 @@
 package com.innowise.paymentservice.service.interfaces;
 
 import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.dto.models.PaymentPageDto;
+import com.innowise.paymentservice.dto.models.PaymentTotalDto;
 import jakarta.validation.Valid;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PaymentService {
 
@@ -17,6 +20,22 @@ public interface PaymentService {
 
     List<PaymentDto> getByStatuses(List<String> statuses);
 
+    PaymentPageDto getPageByOrderId(Long orderId, String cursor, int size);
+
+    PaymentPageDto getPageByUserId(Long userId, String cursor, int size);
+
+    PaymentPageDto getPageByStatuses(List<String> statuses, String cursor, int size);
+
+    Stream<PaymentDto> streamByOrderId(Long orderId);
+
+    Stream<PaymentDto> streamByUserId(Long userId);
+
+    Stream<PaymentDto> streamByStatuses(List<String> statuses);
+
     BigDecimal getTotalSumByPeriod(LocalDate startDate, LocalDate endDate);
+
+    List<PaymentTotalDto> getTotalSumByStatus(LocalDate startDate, LocalDate endDate);
+
+    List<PaymentTotalDto> getTotalSumByDay(LocalDate startDate, LocalDate endDate);
 }
 
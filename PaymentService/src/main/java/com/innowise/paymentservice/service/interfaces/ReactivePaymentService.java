@@ -0,0 +1,19 @@
+package com.innowise.paymentservice.service.interfaces;
+
+import com.innowise.paymentservice.dto.models.PaymentDto;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactivePaymentService {
+
+    Mono<PaymentDto> create(@Valid PaymentDto paymentDto);
+
+    Flux<PaymentDto> getByOrderId(Long orderId);
+
+    Flux<PaymentDto> getByUserId(Long userId);
+
+    Flux<PaymentDto> getByStatuses(List<String> statuses);
+}
@@ -0,0 +1,58 @@
+package com.innowise.paymentservice.benchmark;
+
+import com.innowise.paymentservice.service.PaymentIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.innowise.paymentservice.benchmark.PaymentIdGeneratorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentIdGeneratorBenchmark {
+
+    private PaymentIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new PaymentIdGenerator("1");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long singleThread() {
+        return generator.generateId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long contended() {
+        return generator.generateId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PaymentIdGeneratorBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
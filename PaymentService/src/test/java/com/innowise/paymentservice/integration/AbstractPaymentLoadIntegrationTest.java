@@ -0,0 +1,136 @@
+package com.innowise.paymentservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.paymentservice.client.OrderServiceClient;
+import com.innowise.paymentservice.dto.models.OrderDto;
+import com.innowise.paymentservice.dto.models.OrderItemDto;
+import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.kafka.PaymentEventProducer;
+import com.innowise.paymentservice.service.interfaces.PaymentDecisionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + AbstractPaymentLoadIntegrationTest.MAX_TOMCAT_THREADS,
+        "spring.kafka.listener.auto-startup=false",
+        "spring.kafka.admin.auto-create=false",
+        "payment.id.worker-id=0"
+})
+@Testcontainers
+abstract class AbstractPaymentLoadIntegrationTest {
+
+    static final int MAX_TOMCAT_THREADS = 10;
+    static final int CONCURRENT_REQUESTS = 200;
+    static final Duration ORDER_LOOKUP_LATENCY = Duration.ofMillis(200);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0"))
+            .withExposedPorts(27017);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private OrderServiceClient orderServiceClient;
+
+    @MockBean
+    private PaymentDecisionProvider paymentDecisionProvider;
+
+    @MockBean
+    private PaymentEventProducer paymentEventProducer;
+
+    @BeforeEach
+    void setupSlowOrderService() {
+        when(orderServiceClient.getOrderById(anyLong())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(ORDER_LOOKUP_LATENCY.toMillis());
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return OrderDto.builder()
+                    .id(invocation.getArgument(0))
+                    .userId(200L)
+                    .status("PENDING")
+                    .orderItems(List.of(OrderItemDto.builder()
+                            .id(1L)
+                            .productId(1L)
+                            .quantity(1)
+                            .price(new BigDecimal("10.00"))
+                            .build()))
+                    .build();
+        });
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(10);
+    }
+
+    /**
+     * Sends {@link #CONCURRENT_REQUESTS} payment creates at once and returns the highest number of
+     * requests that were inside the order lookup at the same time.
+     */
+    int runLoad() {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, CONCURRENT_REQUESTS)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> send(httpClient, i), clients))
+                    .toList();
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+            responses.forEach(response -> assertEquals(201, response.join().statusCode()));
+            return maxInFlight.get();
+        }
+    }
+
+    private HttpResponse<String> send(HttpClient httpClient, long orderId) {
+        try {
+            PaymentDto payment = PaymentDto.builder()
+                    .orderId(orderId)
+                    .userId(200L)
+                    .paymentAmount(new BigDecimal("10.00"))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/payments"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payment)))
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.innowise.paymentservice.integration;
+
+import com.innowise.paymentservice.config.MongoIndexConfig;
+import com.innowise.paymentservice.dao.interfaces.PaymentDao;
+import com.innowise.paymentservice.entities.PaymentEntity;
+import com.innowise.paymentservice.kafka.PaymentEventProducer;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.kafka.listener.auto-startup=false",
+        "spring.kafka.admin.auto-create=false",
+        "payment.decision.provider=local",
+        "payment.id.worker-id=0"
+})
+@Testcontainers
+public class PaymentIndexIntegrationTest {
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:7.0"))
+            .withExposedPorts(27017);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PaymentDao paymentDao;
+
+    @Autowired
+    private MongoIndexConfig mongoIndexConfig;
+
+    @MockBean
+    private PaymentEventProducer paymentEventProducer;
+
+    @BeforeEach
+    void setUp() {
+        paymentDao.deleteAll();
+        for (long i = 1; i <= 50; i++) {
+            paymentDao.save(new PaymentEntity(i, i % 5, i % 7, i % 2 == 0 ? "SUCCESS" : "FAILED",
+                    LocalDateTime.now().minusMinutes(i), new BigDecimal("10.00")));
+        }
+    }
+
+    @Test
+    void testApplicationCreatesPaymentIndexes() {
+        assertEquals(List.of("_id_", "idx_order_id_timestamp_id", "idx_status_timestamp_id", "idx_timestamp_id",
+                        "idx_user_id_timestamp_id"),
+                indexNames().stream().sorted().toList());
+    }
+
+    @Test
+    void testApplicationCreatesIdempotencyKeyTtlIndex() {
+        List<Document> indexes = new ArrayList<>();
+        mongoTemplate.getCollection("idempotency_keys").listIndexes().forEach(indexes::add);
+
+        Document ttl = indexes.stream()
+                .filter(index -> "idx_expires_at_ttl".equals(index.getString("name")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(new Document("expires_at", 1), ttl.get("key", Document.class));
+        assertEquals(0, ((Number) ttl.get("expireAfterSeconds")).intValue());
+    }
+
+    @Test
+    void testRetiredIndexesAreDroppedOnStartup() {
+        mongoTemplate.getCollection("payments").createIndex(new Document("status", 1), new IndexOptions().name("idx_status"));
+
+        mongoIndexConfig.createIndexes();
+
+        assertFalse(indexNames().contains("idx_status"));
+        assertTrue(indexNames().contains("idx_timestamp_id"));
+    }
+
+    @Test
+    void testFindByUserIdUsesCompoundIndexWithoutSort() {
+        Document plan = explain(new Document("user_id", 3L));
+
+        assertUsesIndex(plan, "idx_user_id_timestamp_id");
+    }
+
+    @Test
+    void testFindByOrderIdUsesCompoundIndexWithoutSort() {
+        Document plan = explain(new Document("order_id", 2L));
+
+        assertUsesIndex(plan, "idx_order_id_timestamp_id");
+    }
+
+    @Test
+    void testFindByStatusInUsesStatusIndexWithoutSort() {
+        Document plan = explain(new Document("status", new Document("$in", List.of("FAILED", "PENDING"))));
+
+        assertUsesIndex(plan, "idx_status_timestamp_id");
+    }
+
+    @Test
+    void testTimestampRangeUsesTimestampIndex() {
+        Date from = new Date(System.currentTimeMillis() - 3_600_000L);
+        Document plan = explain(new Document("timestamp", new Document("$gte", from)));
+
+        assertUsesIndex(plan, "idx_timestamp_id");
+    }
+
+    @Test
+    void testFindersReturnNewestFirst() {
+        List<PaymentEntity> payments = paymentDao.findByUserId(3L);
+
+        assertFalse(payments.isEmpty());
+        for (int i = 1; i < payments.size(); i++) {
+            assertFalse(payments.get(i).getTimestamp().isAfter(payments.get(i - 1).getTimestamp()));
+        }
+        assertNotNull(payments.get(0).getPaymentAmount());
+    }
+
+    private List<String> indexNames() {
+        List<String> names = new ArrayList<>();
+        mongoTemplate.getCollection("payments").listIndexes().forEach(index -> names.add(index.getString("name")));
+        return names;
+    }
+
+    private Document explain(Document filter) {
+        return mongoTemplate.getCollection("payments")
+                .find(filter)
+                .sort(Document.parse(PaymentDao.NEWEST_FIRST))
+                .explain();
+    }
+
+    private void assertUsesIndex(Document plan, String indexName) {
+        String json = plan.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+        assertTrue(json.contains("\"indexName\": \"" + indexName + "\""), "Expected " + indexName + " in " + json);
+        assertFalse(json.contains("COLLSCAN"), "Unexpected collection scan in " + json);
+        assertFalse(json.contains("\"stage\": \"SORT\""), "Unexpected in-memory sort in " + json);
+    }
+}
@@ -1,19 +1,26 @@
 package com.innowise.paymentservice.integration;
 
 import com.innowise.paymentservice.client.OrderServiceClient;
-import com.innowise.paymentservice.client.RandomNumberClient;
+import com.innowise.paymentservice.dao.interfaces.PaymentDailyTotalDao;
 import com.innowise.paymentservice.dao.interfaces.PaymentDao;
 import com.innowise.paymentservice.dto.models.OrderDto;
 import com.innowise.paymentservice.dto.models.OrderItemDto;
 import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.dto.models.PaymentPageDto;
+import com.innowise.paymentservice.dto.models.PaymentTotalDto;
+import com.innowise.paymentservice.entities.PaymentDailyTotalEntity;
 import com.innowise.paymentservice.entities.PaymentEntity;
 import com.innowise.paymentservice.exceptions.BadRequestException;
 import com.innowise.paymentservice.kafka.PaymentEventProducer;
+import com.innowise.paymentservice.service.interfaces.PaymentDecisionProvider;
 import com.innowise.paymentservice.service.interfaces.PaymentService;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -26,8 +33,13 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -36,7 +48,8 @@ import static org.mockito.Mockito.when;
 @SpringBootTest
 @Testcontainers
 @TestPropertySource(properties = {
-        "spring.liquibase.change-log=classpath:db/changelog/changelog-master.json"
+        "spring.liquibase.change-log=classpath:db/changelog/changelog-master.json",
+        "payment.id.worker-id=0"
 })
 public class PaymentServiceIntegrationTest {
 
@@ -66,11 +79,18 @@ public class PaymentServiceIntegrationTest {
     private OrderServiceClient orderServiceClient;
 
     @MockBean
-    private RandomNumberClient randomNumberClient;
+    private PaymentDecisionProvider paymentDecisionProvider;
+
+    @Autowired
+    private PaymentDailyTotalDao paymentDailyTotalDao;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
     @BeforeEach
     void cleanDatabase() {
         paymentDao.deleteAll();
+        mongoTemplate.remove(new Query(), PaymentDailyTotalEntity.class);
     }
 
     @BeforeEach
@@ -90,7 +110,7 @@ public class PaymentServiceIntegrationTest {
                             .orderItems(List.of(mockItem))
                             .build();
                 });
-        when(randomNumberClient.fetchRandomNumber()).thenReturn(10);
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(10);
     }
 
     @Test
@@ -163,6 +183,26 @@ public class PaymentServiceIntegrationTest {
         assertTrue(payments.stream().allMatch(p -> "SUCCESS".equals(p.getStatus())));
     }
 
+    @Test
+    void testGetPageByUserIdWalksAllPaymentsNewestFirst() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (long i = 1; i <= 5; i++) {
+            paymentDao.save(new PaymentEntity(i, 300L + i, 210L, "SUCCESS", now.minusMinutes(i), new BigDecimal("1.00")));
+        }
+
+        PaymentPageDto firstPage = paymentService.getPageByUserId(210L, null, 2);
+        PaymentPageDto secondPage = paymentService.getPageByUserId(210L, firstPage.getNextCursor(), 2);
+        PaymentPageDto lastPage = paymentService.getPageByUserId(210L, secondPage.getNextCursor(), 2);
+
+        assertEquals(List.of(1L, 2L), firstPage.getContent().stream().map(PaymentDto::getId).toList());
+        assertEquals(List.of(3L, 4L), secondPage.getContent().stream().map(PaymentDto::getId).toList());
+        assertEquals(List.of(5L), lastPage.getContent().stream().map(PaymentDto::getId).toList());
+        assertNull(lastPage.getNextCursor());
+        try (Stream<PaymentDto> stream = paymentService.streamByUserId(210L)) {
+            assertEquals(5, stream.count());
+        }
+    }
+
     @Test
     void testGetTotalSumByPeriod() {
         PaymentDto payment1 = PaymentDto.builder()
@@ -186,7 +226,92 @@ public class PaymentServiceIntegrationTest {
         BigDecimal total = paymentService.getTotalSumByPeriod(startDate, endDate);
 
         assertNotNull(total);
-        assertTrue(total.compareTo(BigDecimal.ZERO) > 0);
+        assertEquals(0, total.compareTo(new BigDecimal("199999.98")));
+    }
+
+    @Test
+    void testGetTotalSumByStatusAndDay() {
+        paymentService.create(PaymentDto.builder()
+                .orderId(107L)
+                .userId(207L)
+                .paymentAmount(new BigDecimal("99999.99"))
+                .build());
+
+        LocalDate today = LocalDate.now();
+
+        List<PaymentTotalDto> byStatus = paymentService.getTotalSumByStatus(today, today);
+        assertEquals(1, byStatus.size());
+        assertEquals("SUCCESS", byStatus.get(0).getStatus());
+        assertEquals(0, byStatus.get(0).getTotal().compareTo(new BigDecimal("99999.99")));
+
+        List<PaymentTotalDto> byDay = paymentService.getTotalSumByDay(today, today);
+        assertEquals(1, byDay.size());
+        assertEquals(today, byDay.get(0).getDay());
+    }
+
+    @Test
+    void testTotalsIncludeLegacyStringAmounts() {
+        LocalDate today = LocalDate.now();
+        Date noon = Date.from(today.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant());
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(PaymentEntity.class)).insertOne(new Document("_id", 1L)
+                .append("order_id", 110L)
+                .append("user_id", 210L)
+                .append("status", "SUCCESS")
+                .append("timestamp", noon)
+                .append("payment_amount", "12.50"));
+        paymentDao.save(new PaymentEntity(2L, 111L, 211L, "SUCCESS", today.atTime(12, 0), new BigDecimal("7.50")));
+
+        List<PaymentTotalDto> byStatus = paymentService.getTotalSumByStatus(today, today);
+        assertEquals(1, byStatus.size());
+        assertEquals(0, byStatus.get(0).getTotal().compareTo(new BigDecimal("20.00")));
+
+        List<PaymentTotalDto> byDay = paymentService.getTotalSumByDay(today, today);
+        assertEquals(1, byDay.size());
+        assertEquals(0, byDay.get(0).getTotal().compareTo(new BigDecimal("20.00")));
+
+        assertEquals(0, paymentService.getTotalSumByPeriod(today, today).compareTo(new BigDecimal("20.00")));
+    }
+
+    @Test
+    void testGetTotalSumByPeriodUsesDailyTotalsForPastDays() {
+        LocalDateTime pastTimestamp = LocalDateTime.of(2024, 3, 15, 12, 0);
+        paymentDao.save(new PaymentEntity(1L, 108L, 208L, "SUCCESS", pastTimestamp, new BigDecimal("10.50")));
+        paymentDao.save(new PaymentEntity(2L, 109L, 209L, "FAILED", pastTimestamp, new BigDecimal("4.50")));
+
+        paymentDailyTotalDao.rebuildClosedDays(null, LocalDate.now(), ZoneId.systemDefault());
+        paymentDailyTotalDao.markBackfilled();
+        paymentDailyTotalDao.increment(LocalDate.of(2024, 3, 16), "SUCCESS", new BigDecimal("5.00"));
+
+        BigDecimal total = paymentService.getTotalSumByPeriod(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        assertEquals(0, total.compareTo(new BigDecimal("20.00")));
+    }
+
+    @Test
+    void testRebuildClosedDaysLeavesTodayToLiveIncrements() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        paymentDao.save(new PaymentEntity(1L, 112L, 212L, "SUCCESS", yesterday.atTime(12, 0), new BigDecimal("3.00")));
+        paymentDao.save(new PaymentEntity(2L, 113L, 213L, "SUCCESS", today.atStartOfDay(), new BigDecimal("7.50")));
+        paymentDailyTotalDao.increment(today, "SUCCESS", new BigDecimal("5.00"));
+
+        paymentDailyTotalDao.rebuildClosedDays(null, today.plusDays(1), ZoneId.systemDefault());
+
+        PaymentDailyTotalEntity closedDay = mongoTemplate.findById(yesterday + ":SUCCESS", PaymentDailyTotalEntity.class);
+        PaymentDailyTotalEntity liveDay = mongoTemplate.findById(today + ":SUCCESS", PaymentDailyTotalEntity.class);
+        assertEquals(0, closedDay.getTotal().compareTo(new BigDecimal("3.00")));
+        assertEquals(0, liveDay.getTotal().compareTo(new BigDecimal("5.00")));
+    }
+
+    @Test
+    void testDailyTotalsLockIsHeldByOneOwner() {
+        assertTrue(paymentDailyTotalDao.tryLock("lock-test", "first", Duration.ofMinutes(1)));
+        assertFalse(paymentDailyTotalDao.tryLock("lock-test", "second", Duration.ofMinutes(1)));
+
+        paymentDailyTotalDao.unlock("lock-test", "first");
+
+        assertTrue(paymentDailyTotalDao.tryLock("lock-test", "second", Duration.ofMinutes(1)));
+        paymentDailyTotalDao.unlock("lock-test", "second");
     }
 
     @Test
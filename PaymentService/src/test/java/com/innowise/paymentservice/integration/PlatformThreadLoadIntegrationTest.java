@@ -0,0 +1,18 @@
+package com.innowise.paymentservice.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadLoadIntegrationTest extends AbstractPaymentLoadIntegrationTest {
+
+    @Test
+    void requestsQueueBehindTomcatThreadPool() {
+        int maxConcurrent = runLoad();
+
+        assertTrue(maxConcurrent <= MAX_TOMCAT_THREADS,
+                "Expected at most " + MAX_TOMCAT_THREADS + " concurrent lookups, saw " + maxConcurrent);
+    }
+}
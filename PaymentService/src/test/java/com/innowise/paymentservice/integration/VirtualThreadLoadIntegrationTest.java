@@ -0,0 +1,18 @@
+package com.innowise.paymentservice.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadLoadIntegrationTest extends AbstractPaymentLoadIntegrationTest {
+
+    @Test
+    void requestsAreNotCappedByTomcatThreadPool() {
+        int maxConcurrent = runLoad();
+
+        assertTrue(maxConcurrent > MAX_TOMCAT_THREADS,
+                "Expected more than " + MAX_TOMCAT_THREADS + " concurrent lookups, saw " + maxConcurrent);
+    }
+}
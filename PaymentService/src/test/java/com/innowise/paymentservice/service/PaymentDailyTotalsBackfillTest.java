@@ -0,0 +1,69 @@
+package com.innowise.paymentservice.service;
+
+import com.innowise.paymentservice.dao.interfaces.PaymentDailyTotalDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentDailyTotalsBackfillTest {
+
+    @Mock
+    private PaymentDailyTotalDao paymentDailyTotalDao;
+
+    private PaymentDailyTotalsBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new PaymentDailyTotalsBackfill(paymentDailyTotalDao, 3, Duration.ofHours(1));
+    }
+
+    @Test
+    void testFirstRunBackfillsClosedDaysAndSetsMarker() {
+        when(paymentDailyTotalDao.isBackfilled()).thenReturn(false);
+        when(paymentDailyTotalDao.tryLock(eq("backfill"), anyString(), any())).thenReturn(true);
+
+        backfill.run();
+
+        LocalDate today = LocalDate.now();
+        verify(paymentDailyTotalDao).rebuildClosedDays(isNull(), eq(today), eq(ZoneId.systemDefault()));
+        verify(paymentDailyTotalDao).markBackfilled();
+        verify(paymentDailyTotalDao).unlock(eq("backfill"), anyString());
+    }
+
+    @Test
+    void testBackfillIsSkippedWhileAnotherInstanceHoldsTheLock() {
+        when(paymentDailyTotalDao.isBackfilled()).thenReturn(false);
+        when(paymentDailyTotalDao.tryLock(eq("backfill"), anyString(), any())).thenReturn(false);
+
+        backfill.run();
+
+        verify(paymentDailyTotalDao, never()).rebuildClosedDays(any(), any(), any());
+        verify(paymentDailyTotalDao, never()).markBackfilled();
+    }
+
+    @Test
+    void testLaterRunsReconcileRecentClosedDays() {
+        when(paymentDailyTotalDao.isBackfilled()).thenReturn(true);
+        when(paymentDailyTotalDao.tryLock(eq("reconcile"), anyString(), any())).thenReturn(true);
+
+        backfill.run();
+
+        LocalDate today = LocalDate.now();
+        verify(paymentDailyTotalDao).rebuildClosedDays(today.minusDays(3), today, ZoneId.systemDefault());
+        verify(paymentDailyTotalDao, never()).markBackfilled();
+        verify(paymentDailyTotalDao).unlock(eq("reconcile"), anyString());
+    }
+}
@@ -0,0 +1,120 @@
+package com.innowise.paymentservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void testGenerateIdIsUniqueAcrossThreads() throws Exception {
+        PaymentIdGenerator generator = new PaymentIdGenerator(7, System::currentTimeMillis);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = IntStream.range(0, THREADS)
+                .<Future<?>>mapToObj(i -> executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        ids.add(generator.generateId());
+                    }
+                    return null;
+                }))
+                .toList();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        assertTrue(ids.stream().allMatch(id -> PaymentIdGenerator.workerIdOf(id) == 7));
+    }
+
+    @Test
+    void testDifferentWorkersNeverCollideInSameMillisecond() {
+        PaymentIdGenerator first = new PaymentIdGenerator(1, () -> 1_750_000_000_000L);
+        PaymentIdGenerator second = new PaymentIdGenerator(2, () -> 1_750_000_000_000L);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(first.generateId());
+            ids.add(second.generateId());
+        }
+
+        assertEquals(2000, ids.size());
+    }
+
+    @Test
+    void testGenerateIdStaysMonotonicWhenClockMovesBack() {
+        AtomicLong clock = new AtomicLong(1_750_000_000_000L);
+        PaymentIdGenerator generator = new PaymentIdGenerator(3, clock::get);
+
+        long before = generator.generateId();
+        clock.addAndGet(-500);
+        long after = generator.generateId();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void testGenerateIdWaitsForNextMillisecondWhenSequenceExhausted() {
+        AtomicLong calls = new AtomicLong();
+        PaymentIdGenerator generator = new PaymentIdGenerator(3,
+                () -> 1_750_000_000_000L + calls.getAndIncrement() / 10_000);
+
+        long previous = generator.generateId();
+        for (int i = 0; i < PaymentIdGenerator.MAX_SEQUENCE + 10; i++) {
+            long next = generator.generateId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testGenerateIdFailsWhenClockIsFarBehind() {
+        AtomicLong clock = new AtomicLong(1_750_000_000_000L);
+        PaymentIdGenerator generator = new PaymentIdGenerator(3, clock::get);
+
+        generator.generateId();
+        clock.addAndGet(-60_000);
+
+        assertThrows(IllegalStateException.class, generator::generateId);
+    }
+
+    @Test
+    void testResolveWorkerId() {
+        assertEquals(12, PaymentIdGenerator.resolveWorkerId("12"));
+        assertEquals(PaymentIdGenerator.MAX_WORKER_ID, PaymentIdGenerator.resolveWorkerId(" 1023 "));
+    }
+
+    @Test
+    void testResolveWorkerIdRejectsMissingOrOutOfRangeValues() {
+        assertThrows(IllegalStateException.class, () -> PaymentIdGenerator.resolveWorkerId(null));
+        assertThrows(IllegalStateException.class, () -> PaymentIdGenerator.resolveWorkerId(""));
+        assertThrows(IllegalStateException.class, () -> PaymentIdGenerator.resolveWorkerId("payment-service-3"));
+        assertThrows(IllegalStateException.class, () -> PaymentIdGenerator.resolveWorkerId("-1"));
+        assertThrows(IllegalStateException.class, () -> PaymentIdGenerator.resolveWorkerId("1024"));
+    }
+
+    @Test
+    void testConstructorRejectsOutOfRangeWorkerId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PaymentIdGenerator(PaymentIdGenerator.MAX_WORKER_ID + 1, System::currentTimeMillis));
+    }
+}
@@ -1,17 +1,21 @@
 package com.innowise.paymentservice.service.implementation;
 
-import com.innowise.paymentservice.client.RandomNumberClient;
 import com.innowise.paymentservice.client.OrderServiceClient;
+import com.innowise.paymentservice.dao.interfaces.PaymentDailyTotalDao;
 import com.innowise.paymentservice.dao.interfaces.PaymentDao;
+import com.innowise.paymentservice.dao.interfaces.PaymentHistoryDao;
 import com.innowise.paymentservice.dto.mappers.PaymentMapper;
 import com.innowise.paymentservice.dto.models.CreatePaymentEventDto;
 import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.dto.models.PaymentPageDto;
+import com.innowise.paymentservice.dto.models.PaymentTotalDto;
 import com.innowise.paymentservice.dto.models.OrderDto;
 import com.innowise.paymentservice.dto.models.OrderItemDto;
 import com.innowise.paymentservice.entities.PaymentEntity;
 import com.innowise.paymentservice.exceptions.BadRequestException;
 import com.innowise.paymentservice.kafka.PaymentEventProducer;
 import com.innowise.paymentservice.service.PaymentIdGenerator;
+import com.innowise.paymentservice.service.interfaces.PaymentDecisionProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,9 +27,13 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,11 +42,17 @@ class PaymentServiceImplTest {
     @Mock
     private PaymentDao paymentDao;
 
+    @Mock
+    private PaymentDailyTotalDao paymentDailyTotalDao;
+
+    @Mock
+    private PaymentHistoryDao paymentHistoryDao;
+
     @Mock
     private PaymentMapper paymentMapper;
 
     @Mock
-    private RandomNumberClient randomNumberClient;
+    private PaymentDecisionProvider paymentDecisionProvider;
 
     @Mock
     private OrderServiceClient orderServiceClient;
@@ -97,7 +111,7 @@ class PaymentServiceImplTest {
     void testCreateWithEvenRandomNumber() {
         setupOrderServiceClientMock();
         when(paymentMapper.toEntity(paymentDto)).thenReturn(paymentEntity);
-        when(randomNumberClient.fetchRandomNumber()).thenReturn(10);
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(10);
         when(paymentIdGenerator.generateId()).thenReturn(1L);
         when(paymentDao.save(any(PaymentEntity.class))).thenReturn(paymentEntity);
         when(paymentMapper.toDto(any(PaymentEntity.class))).thenReturn(paymentDto);
@@ -108,15 +122,34 @@ class PaymentServiceImplTest {
         assertEquals(paymentDto.getOrderId(), result.getOrderId());
         verify(paymentDao).save(any(PaymentEntity.class));
         verify(paymentEventProducer).sendCreatePaymentEvent(any(CreatePaymentEventDto.class));
-        verify(randomNumberClient).fetchRandomNumber();
+        verify(paymentDecisionProvider).nextRandomNumber();
+        verify(paymentDailyTotalDao).increment(
+                paymentEntity.getTimestamp().toLocalDate(), "SUCCESS", paymentEntity.getPaymentAmount());
         assertEquals("SUCCESS", paymentEntity.getStatus());
     }
 
+    @Test
+    void testCreateSucceedsWhenDailyTotalUpdateFails() {
+        setupOrderServiceClientMock();
+        when(paymentMapper.toEntity(paymentDto)).thenReturn(paymentEntity);
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(10);
+        when(paymentIdGenerator.generateId()).thenReturn(4L);
+        when(paymentDao.save(any(PaymentEntity.class))).thenReturn(paymentEntity);
+        when(paymentMapper.toDto(any(PaymentEntity.class))).thenReturn(paymentDto);
+        doThrow(new RuntimeException("mongo unavailable"))
+                .when(paymentDailyTotalDao).increment(any(), any(), any());
+
+        PaymentDto result = paymentService.create(paymentDto);
+
+        assertNotNull(result);
+        verify(paymentEventProducer).sendCreatePaymentEvent(any(CreatePaymentEventDto.class));
+    }
+
     @Test
     void testCreateWithOddRandomNumber() {
         setupOrderServiceClientMock();
         when(paymentMapper.toEntity(paymentDto)).thenReturn(paymentEntity);
-        when(randomNumberClient.fetchRandomNumber()).thenReturn(7);
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(7);
         when(paymentIdGenerator.generateId()).thenReturn(2L);
         when(paymentDao.save(any(PaymentEntity.class))).thenReturn(paymentEntity);
         when(paymentMapper.toDto(any(PaymentEntity.class))).thenReturn(paymentDto);
@@ -133,7 +166,7 @@ class PaymentServiceImplTest {
     void testCreateWithNullRandomNumber() {
         setupOrderServiceClientMock();
         when(paymentMapper.toEntity(paymentDto)).thenReturn(paymentEntity);
-        when(randomNumberClient.fetchRandomNumber()).thenReturn(null);
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(null);
         when(paymentIdGenerator.generateId()).thenReturn(3L);
         when(paymentDao.save(any(PaymentEntity.class))).thenReturn(paymentEntity);
         when(paymentMapper.toDto(any(PaymentEntity.class))).thenReturn(paymentDto);
@@ -188,23 +221,140 @@ class PaymentServiceImplTest {
         verify(paymentDao).findByStatusIn(statuses);
     }
 
+    @Test
+    void testGetPageByUserIdReturnsCursorWhenMoreResultsExist() {
+        PaymentEntity older = new PaymentEntity(2L, 100L, 200L, "FAILED",
+                paymentEntity.getTimestamp().minusMinutes(1), new BigDecimal("10.00"));
+        when(paymentHistoryDao.findPage(any(), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(paymentEntity, older));
+        when(paymentMapper.toDto(paymentEntity)).thenReturn(paymentDto);
+
+        PaymentPageDto page = paymentService.getPageByUserId(200L, null, 1);
+
+        assertEquals(1, page.getContent().size());
+        assertNotNull(page.getNextCursor());
+
+        when(paymentHistoryDao.findPage(any(), eq(paymentEntity.getTimestamp()), eq(1L), eq(2)))
+                .thenReturn(List.of(older));
+        when(paymentMapper.toDto(older)).thenReturn(PaymentDto.builder().id(2L).build());
+
+        PaymentPageDto nextPage = paymentService.getPageByUserId(200L, page.getNextCursor(), 1);
+
+        assertEquals(2L, nextPage.getContent().get(0).getId());
+        assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    void testGetPageWithInvalidCursor() {
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> paymentService.getPageByOrderId(100L, "not-a-cursor", 10)
+        );
+        assertTrue(exception.getMessage().startsWith("Invalid cursor"));
+        verifyNoInteractions(paymentHistoryDao);
+    }
+
+    @Test
+    void testGetPageWithInvalidSize() {
+        assertThrows(BadRequestException.class,
+                () -> paymentService.getPageByStatuses(List.of("SUCCESS"), null, 0));
+        assertThrows(BadRequestException.class,
+                () -> paymentService.getPageByStatuses(List.of("SUCCESS"), null, 501));
+        verifyNoInteractions(paymentHistoryDao);
+    }
+
+    @Test
+    void testStreamByOrderId() {
+        when(paymentHistoryDao.stream(any())).thenReturn(Stream.of(paymentEntity));
+        when(paymentMapper.toDto(paymentEntity)).thenReturn(paymentDto);
+
+        List<PaymentDto> result = paymentService.streamByOrderId(100L).toList();
+
+        assertEquals(List.of(paymentDto), result);
+    }
+
     @Test
     void testGetTotalSumByPeriod() {
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 31);
-        List<PaymentEntity> payments = List.of(
-            new PaymentEntity(1L, 1L, 1L, "SUCCESS", LocalDateTime.now(), new BigDecimal("500.00")),
-            new PaymentEntity(2L, 2L, 2L, "SUCCESS", LocalDateTime.now(), new BigDecimal("500.00"))
-        );
 
-        when(paymentDao.findByTimestampBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(payments);
+        when(paymentDailyTotalDao.isBackfilled()).thenReturn(true);
+        when(paymentDailyTotalDao.sumBetween(startDate, endDate, LocalDate.now()))
+                .thenReturn(new BigDecimal("1000.00"));
 
         BigDecimal result = paymentService.getTotalSumByPeriod(startDate, endDate);
 
         assertNotNull(result);
         assertEquals(new BigDecimal("1000.00"), result);
-        verify(paymentDao).findByTimestampBetween(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(paymentDao, never()).sumPaymentAmountByTimestampBetween(any(), any());
+    }
+
+    @Test
+    void testGetTotalSumByPeriodIncludingTodayAddsLiveTail() {
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = today.minusDays(7);
+
+        when(paymentDailyTotalDao.isBackfilled()).thenReturn(true);
+        when(paymentDailyTotalDao.sumBetween(startDate, today, today))
+                .thenReturn(new BigDecimal("1000.00"));
+        when(paymentDao.sumPaymentAmountByTimestampBetween(
+                today.atStartOfDay(), today.plusDays(1).atStartOfDay().minusNanos(1)))
+                .thenReturn(new BigDecimal("250.50"));
+
+        BigDecimal result = paymentService.getTotalSumByPeriod(startDate, today);
+
+        assertEquals(new BigDecimal("1250.50"), result);
+    }
+
+    @Test
+    void testGetTotalSumByPeriodAggregatesPaymentsUntilBackfilled() {
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+
+        when(paymentDailyTotalDao.isBackfilled()).thenReturn(false);
+        when(paymentDao.sumPaymentAmountByTimestampBetween(
+                startDate.atStartOfDay(), LocalDate.of(2024, 2, 1).atStartOfDay().minusNanos(1)))
+                .thenReturn(new BigDecimal("1000.00"));
+
+        BigDecimal result = paymentService.getTotalSumByPeriod(startDate, endDate);
+
+        assertEquals(new BigDecimal("1000.00"), result);
+        verify(paymentDailyTotalDao, never()).sumBetween(any(), any(), any());
+    }
+
+    @Test
+    void testGetTotalSumByStatus() {
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        List<PaymentTotalDto> totals = List.of(
+                PaymentTotalDto.builder().status("FAILED").total(new BigDecimal("10.00")).build(),
+                PaymentTotalDto.builder().status("SUCCESS").total(new BigDecimal("990.00")).build()
+        );
+
+        when(paymentDao.sumPaymentAmountByStatus(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(totals);
+
+        List<PaymentTotalDto> result = paymentService.getTotalSumByStatus(startDate, endDate);
+
+        assertEquals(totals, result);
+    }
+
+    @Test
+    void testGetTotalSumByDay() {
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 2);
+        List<PaymentTotalDto> totals = List.of(
+                PaymentTotalDto.builder().day(startDate).total(new BigDecimal("500.00")).build(),
+                PaymentTotalDto.builder().day(endDate).total(new BigDecimal("500.00")).build()
+        );
+
+        when(paymentDao.sumPaymentAmountByDay(any(LocalDateTime.class), any(LocalDateTime.class), anyString()))
+                .thenReturn(totals);
+
+        List<PaymentTotalDto> result = paymentService.getTotalSumByDay(startDate, endDate);
+
+        assertEquals(2, result.size());
+        verify(paymentDao).sumPaymentAmountByDay(any(LocalDateTime.class), any(LocalDateTime.class), anyString());
     }
 
     @Test
@@ -216,7 +366,7 @@ class PaymentServiceImplTest {
                 () -> paymentService.getTotalSumByPeriod(null, endDate)
         );
         assertEquals("Start date and end date must be provided", exception.getMessage());
-        verify(paymentDao, never()).findByTimestampBetween(any(), any());
+        verify(paymentDailyTotalDao, never()).sumBetween(any(), any(), any());
     }
 
     @Test
@@ -228,7 +378,7 @@ class PaymentServiceImplTest {
                 () -> paymentService.getTotalSumByPeriod(startDate, null)
         );
         assertEquals("Start date and end date must be provided", exception.getMessage());
-        verify(paymentDao, never()).findByTimestampBetween(any(), any());
+        verify(paymentDailyTotalDao, never()).sumBetween(any(), any(), any());
     }
 
     @Test
@@ -241,6 +391,6 @@ class PaymentServiceImplTest {
                 () -> paymentService.getTotalSumByPeriod(startDate, endDate)
         );
         assertEquals("End date must not be before start date", exception.getMessage());
-        verify(paymentDao, never()).findByTimestampBetween(any(), any());
+        verify(paymentDailyTotalDao, never()).sumBetween(any(), any(), any());
     }
 }
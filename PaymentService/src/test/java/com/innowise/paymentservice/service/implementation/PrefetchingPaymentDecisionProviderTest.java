@@ -0,0 +1,63 @@
+package com.innowise.paymentservice.service.implementation;
+
+import com.innowise.paymentservice.client.RandomNumberClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrefetchingPaymentDecisionProviderTest {
+
+    @Mock
+    private RandomNumberClient randomNumberClient;
+
+    private PrefetchingPaymentDecisionProvider provider;
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.shutdown();
+        }
+    }
+
+    @Test
+    void testNextRandomNumberServedFromPrefetchedBatch() {
+        when(randomNumberClient.fetchRandomNumbers(4)).thenReturn(List.of(2, 4, 6, 8));
+        provider = new PrefetchingPaymentDecisionProvider(randomNumberClient, 4, 1, Duration.ofSeconds(2));
+
+        provider.warmUp();
+
+        assertEquals(2, provider.nextRandomNumber());
+        assertEquals(4, provider.nextRandomNumber());
+        assertEquals(6, provider.nextRandomNumber());
+        verify(randomNumberClient, atLeastOnce()).fetchRandomNumbers(4);
+    }
+
+    @Test
+    void testNextRandomNumberReturnsNullWhenUpstreamUnavailable() {
+        when(randomNumberClient.fetchRandomNumbers(anyInt())).thenReturn(List.of());
+        provider = new PrefetchingPaymentDecisionProvider(randomNumberClient, 4, 1, Duration.ofMillis(50));
+
+        assertNull(provider.nextRandomNumber());
+        assertEquals(0, provider.buffered());
+    }
+
+    @Test
+    void testNullNumbersAreNotBuffered() {
+        when(randomNumberClient.fetchRandomNumbers(3)).thenReturn(Arrays.asList(null, 5, null));
+        provider = new PrefetchingPaymentDecisionProvider(randomNumberClient, 3, 0, Duration.ofSeconds(2));
+
+        assertEquals(5, provider.nextRandomNumber());
+        assertEquals(0, provider.buffered());
+    }
+}
@@ -0,0 +1,201 @@
+package com.innowise.paymentservice.service.implementation;
+
+import com.innowise.paymentservice.client.ReactiveOrderServiceClient;
+import com.innowise.paymentservice.dao.interfaces.PaymentDailyTotalDao;
+import com.innowise.paymentservice.dao.interfaces.ReactivePaymentDao;
+import com.innowise.paymentservice.dto.mappers.PaymentMapper;
+import com.innowise.paymentservice.dto.models.CreatePaymentEventDto;
+import com.innowise.paymentservice.dto.models.OrderDto;
+import com.innowise.paymentservice.dto.models.OrderItemDto;
+import com.innowise.paymentservice.dto.models.PaymentDto;
+import com.innowise.paymentservice.entities.PaymentEntity;
+import com.innowise.paymentservice.exceptions.BadRequestException;
+import com.innowise.paymentservice.kafka.PaymentEventProducer;
+import com.innowise.paymentservice.service.PaymentIdGenerator;
+import com.innowise.paymentservice.service.interfaces.PaymentDecisionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePaymentServiceImplTest {
+
+    @Mock
+    private ReactivePaymentDao reactivePaymentDao;
+
+    @Mock
+    private PaymentDailyTotalDao paymentDailyTotalDao;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private PaymentDecisionProvider paymentDecisionProvider;
+
+    @Mock
+    private PaymentEventProducer paymentEventProducer;
+
+    @Mock
+    private PaymentIdGenerator paymentIdGenerator;
+
+    @Mock
+    private ReactiveOrderServiceClient orderServiceClient;
+
+    @InjectMocks
+    private ReactivePaymentServiceImpl paymentService;
+
+    private PaymentEntity paymentEntity;
+    private PaymentDto paymentDto;
+
+    @BeforeEach
+    void setUp() {
+        paymentEntity = new PaymentEntity();
+        paymentEntity.setOrderId(100L);
+        paymentEntity.setUserId(200L);
+        paymentEntity.setTimestamp(LocalDateTime.now());
+        paymentEntity.setPaymentAmount(new BigDecimal("99.99"));
+
+        paymentDto = PaymentDto.builder()
+                .orderId(100L)
+                .userId(200L)
+                .paymentAmount(new BigDecimal("99.99"))
+                .build();
+    }
+
+    private OrderDto order(String status) {
+        return OrderDto.builder()
+                .id(100L)
+                .userId(200L)
+                .status(status)
+                .orderItems(List.of(
+                        OrderItemDto.builder()
+                                .id(1L)
+                                .productId(1L)
+                                .quantity(1)
+                                .price(new BigDecimal("99.99"))
+                                .build()
+                ))
+                .build();
+    }
+
+    @Test
+    void testCreateWithEvenRandomNumber() {
+        when(orderServiceClient.getOrderById(100L)).thenReturn(Mono.just(order("PENDING")));
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(10);
+        when(paymentMapper.toEntity(paymentDto)).thenReturn(paymentEntity);
+        when(paymentIdGenerator.generateId()).thenReturn(1L);
+        when(reactivePaymentDao.save(paymentEntity)).thenReturn(Mono.just(paymentEntity));
+        when(paymentEventProducer.sendCreatePaymentEvent(any(CreatePaymentEventDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(paymentMapper.toDto(paymentEntity)).thenReturn(paymentDto);
+
+        StepVerifier.create(paymentService.create(paymentDto))
+                .expectNext(paymentDto)
+                .verifyComplete();
+
+        assertEquals("SUCCESS", paymentEntity.getStatus());
+        assertEquals(1L, paymentEntity.getId());
+        verify(paymentDailyTotalDao).increment(
+                paymentEntity.getTimestamp().toLocalDate(), "SUCCESS", paymentEntity.getPaymentAmount());
+        verify(paymentEventProducer).sendCreatePaymentEvent(any(CreatePaymentEventDto.class));
+    }
+
+    @Test
+    void testCreateWithNullRandomNumber() {
+        when(orderServiceClient.getOrderById(100L)).thenReturn(Mono.just(order("PENDING")));
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(null);
+        when(paymentMapper.toEntity(paymentDto)).thenReturn(paymentEntity);
+        when(paymentIdGenerator.generateId()).thenReturn(2L);
+        when(reactivePaymentDao.save(paymentEntity)).thenReturn(Mono.just(paymentEntity));
+        when(paymentEventProducer.sendCreatePaymentEvent(any(CreatePaymentEventDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(paymentMapper.toDto(paymentEntity)).thenReturn(paymentDto);
+
+        StepVerifier.create(paymentService.create(paymentDto))
+                .expectNext(paymentDto)
+                .verifyComplete();
+
+        assertEquals("FAILED", paymentEntity.getStatus());
+    }
+
+    @Test
+    void testCreateSucceedsWhenEventPublishFails() {
+        when(orderServiceClient.getOrderById(100L)).thenReturn(Mono.just(order("PENDING")));
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(4);
+        when(paymentMapper.toEntity(paymentDto)).thenReturn(paymentEntity);
+        when(paymentIdGenerator.generateId()).thenReturn(3L);
+        when(reactivePaymentDao.save(paymentEntity)).thenReturn(Mono.just(paymentEntity));
+        doThrow(new RuntimeException("mongo unavailable"))
+                .when(paymentDailyTotalDao).increment(any(), any(), any());
+        when(paymentEventProducer.sendCreatePaymentEvent(any(CreatePaymentEventDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+        when(paymentMapper.toDto(paymentEntity)).thenReturn(paymentDto);
+
+        StepVerifier.create(paymentService.create(paymentDto))
+                .expectNext(paymentDto)
+                .verifyComplete();
+    }
+
+    @Test
+    void testCreateOrderNotFound() {
+        when(orderServiceClient.getOrderById(100L)).thenReturn(Mono.empty());
+        lenient().when(paymentDecisionProvider.nextRandomNumber()).thenReturn(10);
+
+        StepVerifier.create(paymentService.create(paymentDto))
+                .expectError(BadRequestException.class)
+                .verify();
+
+        verify(reactivePaymentDao, never()).save(any());
+    }
+
+    @Test
+    void testCreateOrderAlreadyPaid() {
+        when(orderServiceClient.getOrderById(100L)).thenReturn(Mono.just(order("PAID")));
+        when(paymentDecisionProvider.nextRandomNumber()).thenReturn(10);
+
+        StepVerifier.create(paymentService.create(paymentDto))
+                .expectErrorMessage("Order 100 is already paid")
+                .verify();
+
+        verify(reactivePaymentDao, never()).save(any());
+        verifyNoInteractions(paymentEventProducer);
+    }
+
+    @Test
+    void testGetByUserId() {
+        PaymentEntity second = new PaymentEntity();
+        PaymentDto secondDto = PaymentDto.builder().userId(200L).build();
+        when(reactivePaymentDao.findByUserId(200L)).thenReturn(Flux.just(paymentEntity, second));
+        when(paymentMapper.toDto(paymentEntity)).thenReturn(paymentDto);
+        when(paymentMapper.toDto(second)).thenReturn(secondDto);
+
+        StepVerifier.create(paymentService.getByUserId(200L))
+                .expectNext(paymentDto, secondDto)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetByStatuses() {
+        when(reactivePaymentDao.findByStatusIn(List.of("SUCCESS"))).thenReturn(Flux.just(paymentEntity));
+        when(paymentMapper.toDto(paymentEntity)).thenReturn(paymentDto);
+
+        StepVerifier.create(paymentService.getByStatuses(List.of("SUCCESS")))
+                .expectNext(paymentDto)
+                .verifyComplete();
+    }
+}
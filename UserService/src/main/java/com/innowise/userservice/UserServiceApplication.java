@@ -1,9 +1,12 @@
 package com.innowise.userservice;
 
+import com.innowise.common.datasource.ReplicaRoutingDataSourceConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(ReplicaRoutingDataSourceConfig.class)
 public class UserServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,54 @@
+package com.innowise.userservice.config;
+
+import com.innowise.userservice.exceptions.DuplicateException;
+import jakarta.validation.ConstraintViolationException;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaConfig {
+
+    public static final String USER_REGISTERED_DLT = "user-registered.DLT";
+
+    @Bean
+    public NewTopic userRegisteredDeadLetterTopic() {
+        return TopicBuilder.name(USER_REGISTERED_DLT)
+                .partitions(3)
+                .replicas(2)
+                .config("min.insync.replicas", "1")
+                .build();
+    }
+
+    /**
+     * Retries a failed event with backoff, then moves it to the dead-letter topic instead of
+     * dropping it. Duplicate emails and validation errors cannot succeed on retry and go there
+     * straight away. The gateway consumes the dead-letter topic and removes the credentials of
+     * such users; it is the only signal that makes it do so.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(KafkaTemplate<Object, Object> kafkaTemplate,
+                                                 @Value("${user-registered.retry.max-retries:5}") int maxRetries,
+                                                 @Value("${user-registered.retry.first-backoff:500ms}") Duration firstBackoff,
+                                                 @Value("${user-registered.retry.max-backoff:10s}") Duration maxBackoff) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(USER_REGISTERED_DLT, record.partition()));
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxRetries);
+        backOff.setInitialInterval(firstBackoff.toMillis());
+        backOff.setMaxInterval(maxBackoff.toMillis());
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        errorHandler.addNotRetryableExceptions(DuplicateException.class, ConstraintViolationException.class);
+        return errorHandler;
+    }
+}
@@ -26,7 +26,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/v1/public/**").permitAll()
                         .requestMatchers("/api/v1/users/internal/**").permitAll()
-                        .requestMatchers("/actuator/health","/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/health","/actuator/health/**","/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -1,11 +1,10 @@
 package com.innowise.userservice.controller;
 
 import com.innowise.userservice.dto.models.CardDto;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.exceptions.NotFoundException;
 import com.innowise.userservice.service.interfaces.CardService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,7 +26,7 @@ public class CardController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("@cardSecurityService.isCardOwner(#id, authentication) or hasRole('ADMIN')")
+    @PreAuthorize("hasRole('ADMIN') or @cardSecurityService.isCardOwner(#id, authentication)")
     public ResponseEntity<CardDto> getCardById(@PathVariable Long id) {
         Optional<CardDto> card = cardService.getById(id);
         return card.map(ResponseEntity::ok)
@@ -36,20 +35,21 @@ public class CardController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<CardDto>> getAllCards(Pageable pageable) {
-        Page<CardDto> cards = cardService.getAll(pageable);
+    public ResponseEntity<SliceDto<CardDto>> getAllCards(@RequestParam(required = false) Long after,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        SliceDto<CardDto> cards = cardService.getAll(after, size);
         return ResponseEntity.ok(cards);
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("@cardSecurityService.isCardOwner(#id, authentication) or hasRole('ADMIN')")
+    @PreAuthorize("hasRole('ADMIN') or @cardSecurityService.isCardOwner(#id, authentication)")
     public ResponseEntity<CardDto> updateCard(@PathVariable Long id, @RequestBody CardDto cardDto) {
         CardDto updatedCard = cardService.update(id, cardDto);
         return ResponseEntity.ok(updatedCard);
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("@cardSecurityService.isCardOwner(#id, authentication) or hasRole('ADMIN')")
+    @PreAuthorize("hasRole('ADMIN') or @cardSecurityService.isCardOwner(#id, authentication)")
     public ResponseEntity<Void> deleteCard(@PathVariable Long id) {
         cardService.delete(id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
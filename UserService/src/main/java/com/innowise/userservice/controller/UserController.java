@@ -1,24 +1,28 @@
 package com.innowise.userservice.controller;
 
+import com.innowise.userservice.dto.models.CardDto;
 import com.innowise.userservice.dto.models.UserDto;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.dto.models.UserProfileCreateRequest;
 import com.innowise.userservice.exceptions.DuplicateException;
 import com.innowise.userservice.exceptions.NotFoundException;
+import com.innowise.userservice.service.interfaces.CardService;
 import com.innowise.userservice.service.interfaces.UserService;
 import com.innowise.userservice.util.JwtUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.data.domain.Page;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import jakarta.validation.ConstraintViolationException;
 
@@ -31,11 +35,15 @@ public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
     private final UserService userService;
+    private final CardService cardService;
     private final JwtUtil jwtUtil;
 
     @Value("${internal.service.token}")
     private String internalTokenValue;
 
+    @Value("${http-cache.max-age:10s}")
+    private Duration cacheMaxAge;
+
     @PostMapping
 
     public ResponseEntity<?> createUser(
@@ -55,7 +63,7 @@ public class UserController {
         String email = jwtUtil.getUserNameFromJwtToken(token);
         Long userId = jwtUtil.getUserIdFromJwtToken(token);
 
-        logger.info("Creating user profile for email: {} with userId: {}", email, userId);
+        logger.debug("Creating user profile for email: {} with userId: {}", email, userId);
 
         try {
             UserDto userDto = new UserDto();
@@ -65,7 +73,7 @@ public class UserController {
             userDto.setSurname(request.getSurname());
             userDto.setBirthdate(request.getBirthdate());
 
-            UserDto createdUser = userService.createFromCredentials(userDto);
+            UserDto createdUser = userService.createFromCredentialsIfAbsent(userDto);
             logger.info("Successfully created user profile with ID: {}", createdUser.getId());
 
             return ResponseEntity.ok(createdUser);
@@ -85,10 +93,16 @@ public class UserController {
     @PreAuthorize("#id == authentication.details['userId'] or hasRole('ADMIN')")
     public ResponseEntity<UserDto> getById(@PathVariable Long id) {
         Optional<UserDto> user = userService.getById(id);
-        return user.map(ResponseEntity::ok)
+        return user.map(body -> ResponseEntity.ok().cacheControl(privateCache()).body(body))
                 .orElseThrow(() -> new NotFoundException("User not found with id: " + id));
     }
 
+    @GetMapping("/{id}/cards")
+    @PreAuthorize("#id == authentication.details['userId'] or hasRole('ADMIN')")
+    public ResponseEntity<List<CardDto>> getCards(@PathVariable Long id) {
+        return ResponseEntity.ok().cacheControl(privateCache()).body(cardService.getByUserId(id));
+    }
+
     @GetMapping("/internal/{id}")
     public ResponseEntity<UserDto> getByIdInternal(
             @PathVariable Long id,
@@ -101,6 +115,17 @@ public class UserController {
                 .orElseThrow(() -> new NotFoundException("User not found with id: " + id));
     }
 
+    @DeleteMapping("/internal/{id}")
+    public ResponseEntity<Void> deleteInternal(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-Internal-Token", required = false) String internalToken) {
+        if (!internalTokenValue.equals(internalToken)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        userService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping(params = "email")
     @PreAuthorize("hasRole('ADMIN')") // Only admins can search by email for privacy reasons
     public ResponseEntity<UserDto> getByEmail(@RequestParam String email){
@@ -111,8 +136,9 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')") // Only admins can get all users
-    public ResponseEntity<Page<UserDto>> getAll(Pageable pageable) {
-        Page<UserDto> users = userService.getAll(pageable);
+    public ResponseEntity<SliceDto<UserDto>> getAll(@RequestParam(required = false) Long after,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        SliceDto<UserDto> users = userService.getAll(after, size);
         return ResponseEntity.ok(users);
     }
 
@@ -129,4 +155,8 @@ public class UserController {
         userService.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private CacheControl privateCache() {
+        return CacheControl.maxAge(cacheMaxAge).cachePrivate();
+    }
+}
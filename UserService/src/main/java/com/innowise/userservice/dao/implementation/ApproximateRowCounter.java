@@ -0,0 +1,51 @@
+package com.innowise.userservice.dao.implementation;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ApproximateRowCounter {
+
+    private static final String ESTIMATE_QUERY =
+            "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass(:table)";
+
+    private final EntityManager entityManager;
+    private final long ttlNanos;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public ApproximateRowCounter(EntityManager entityManager,
+                                 @Value("${pagination.count-cache-ttl:60s}") Duration ttl) {
+        this.entityManager = entityManager;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long count(String table) {
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(table);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.value();
+        }
+        long value = estimate(table);
+        counts.put(table, new CachedCount(value, now));
+        return value;
+    }
+
+    private long estimate(String table) {
+        List<?> estimate = entityManager.createNativeQuery(ESTIMATE_QUERY)
+                .setParameter("table", table)
+                .getResultList();
+        if (!estimate.isEmpty() && estimate.get(0) instanceof Number rows && rows.longValue() >= 0) {
+            return rows.longValue();
+        }
+        return ((Number) entityManager.createNativeQuery("SELECT count(*) FROM " + table).getSingleResult()).longValue();
+    }
+
+    private record CachedCount(long value, long loadedAt) {
+    }
+}
@@ -2,25 +2,32 @@ package com.innowise.userservice.dao.implementation;
 
 import com.innowise.userservice.dao.interfaces.CardDao;
 import com.innowise.userservice.entities.CardEntity;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
+@Observed(name = "dao")
 @RequiredArgsConstructor
 @Transactional
 public class CardDaoImplementation implements CardDao {
+    private static final String TABLE = "card_info";
+    private static final int NUMBER_FETCH_SIZE = 1000;
+
     private final EntityManager entityManager;
+    private final ApproximateRowCounter approximateRowCounter;
+
     @Override
-public void create(CardEntity cardEntity) {
+    public void create(CardEntity cardEntity) {
         entityManager.persist(cardEntity);
+        entityManager.flush();
     }
 
     @Override
@@ -29,31 +36,59 @@ public void create(CardEntity cardEntity) {
     }
 
     @Override
-    public Page<CardEntity> getAll(Pageable pageable) {
-        Long total = entityManager.createQuery("SELECT COUNT(card) FROM CardEntity card", Long.class)
-                .getSingleResult();
+    public Optional<CardEntity> getByIdAndUserId(Long id, Long userId) {
+        return entityManager.createQuery(
+                        "SELECT card FROM CardEntity card WHERE card.id = :id AND card.user.id = :userId", CardEntity.class)
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public List<CardEntity> getAll(Long afterId, int limit) {
+        if (afterId == null) {
+            return entityManager.createQuery("SELECT card FROM CardEntity card ORDER BY card.id", CardEntity.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return entityManager.createQuery(
+                        "SELECT card FROM CardEntity card WHERE card.id > :afterId ORDER BY card.id", CardEntity.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
 
-        List<CardEntity> content = entityManager.createQuery("SELECT card FROM CardEntity card", CardEntity.class)
-                .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize())
+    @Override
+    public List<CardEntity> getByUserId(Long userId) {
+        return entityManager.createQuery(
+                        "SELECT card FROM CardEntity card WHERE card.user.id = :userId ORDER BY card.id", CardEntity.class)
+                .setParameter("userId", userId)
                 .getResultList();
+    }
 
-        return new PageImpl<>(content, pageable, total);
+    @Override
+    public long countApproximately() {
+        return approximateRowCounter.count(TABLE);
     }
 
     @Override
-    public void delete(Long id) {
-        getById(id).ifPresent(entityManager::remove);
+    public Optional<Long> delete(Long id) {
+        List<?> owners = entityManager.createNativeQuery("DELETE FROM card_info WHERE id = :id RETURNING user_id")
+                .setParameter("id", id)
+                .getResultList();
+        return owners.stream().findFirst().map(owner -> ((Number) owner).longValue());
     }
 
     @Override
-    public void update(Long id, CardEntity updatedCard) {
-        CardEntity existing = entityManager.find(CardEntity.class, id);
-        if (existing != null) {
-            existing.setNumber(updatedCard.getNumber());
-            existing.setHolder(updatedCard.getHolder());
-            existing.setExpirationDate(updatedCard.getExpirationDate());
-        }
+    public boolean update(Long id, CardEntity updatedCard) {
+        return entityManager.createQuery("UPDATE CardEntity card SET card.number = :number, card.holder = :holder, "
+                        + "card.expirationDate = :expirationDate WHERE card.id = :id")
+                .setParameter("number", updatedCard.getNumber())
+                .setParameter("holder", updatedCard.getHolder())
+                .setParameter("expirationDate", updatedCard.getExpirationDate())
+                .setParameter("id", id)
+                .executeUpdate() > 0;
     }
 
     @Override
@@ -64,4 +99,17 @@ public void create(CardEntity cardEntity) {
                 .getSingleResult();
         return count > 0;
     }
+
+    @Override
+    public long forEachNumber(Consumer<String> consumer) {
+        try (Stream<String> numbers = entityManager.createQuery("SELECT c.number FROM CardEntity c", String.class)
+                .setHint("org.hibernate.fetchSize", NUMBER_FETCH_SIZE)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()) {
+            return numbers.mapToLong(number -> {
+                consumer.accept(number);
+                return 1;
+            }).sum();
+        }
+    }
 }
\ No newline at end of file
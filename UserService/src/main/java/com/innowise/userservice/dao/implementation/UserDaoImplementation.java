@@ -2,6 +2,7 @@ package com.innowise.userservice.dao.implementation;
 
 import com.innowise.userservice.dao.interfaces.UserDao;
 import com.innowise.userservice.entities.UserEntity;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.transaction.Transactional;
@@ -9,9 +10,6 @@ import lombok.RequiredArgsConstructor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -19,13 +17,20 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Observed(name = "dao")
 @RequiredArgsConstructor
 @Transactional
 public class UserDaoImplementation implements UserDao {
 
     private static final Logger logger = LoggerFactory.getLogger(UserDaoImplementation.class);
+    private static final String TABLE = "users";
+    private static final String UPDATE_RETURNING = "UPDATE users SET name = :name, surname = :surname, "
+            + "birth_date = :birthdate, email = :email WHERE id = :id RETURNING *";
+    private static final String INSERT_IF_ABSENT = "INSERT INTO users (id, name, surname, birth_date, email) "
+            + "VALUES (:id, :name, :surname, :birthdate, :email) ON CONFLICT (id) DO NOTHING";
 
     private final EntityManager entityManager;
+    private final ApproximateRowCounter approximateRowCounter;
 
     @Override
     public void create(UserEntity userEntity) {
@@ -33,6 +38,18 @@ public class UserDaoImplementation implements UserDao {
         entityManager.persist(userEntity);
     }
 
+    /** Returns false when a user with this id already exists; an email conflict still fails. */
+    @Override
+    public boolean createIfAbsent(UserEntity userEntity) {
+        return entityManager.createNativeQuery(INSERT_IF_ABSENT)
+                .setParameter("id", userEntity.getId())
+                .setParameter("name", userEntity.getName())
+                .setParameter("surname", userEntity.getSurname())
+                .setParameter("birthdate", userEntity.getBirthdate())
+                .setParameter("email", userEntity.getEmail())
+                .executeUpdate() == 1;
+    }
+
     @Override
     public Optional<UserEntity> getById(Long id) {
         return Optional.ofNullable(entityManager.find(UserEntity.class, id));
@@ -51,28 +68,33 @@ public class UserDaoImplementation implements UserDao {
     }
 
     @Override
-    public Page<UserEntity> getAll(Pageable pageable) {
-        Long total = entityManager.createQuery("SELECT COUNT(u) FROM UserEntity u", Long.class)
-                .getSingleResult();
-
-        List<UserEntity> content = entityManager.createQuery("SELECT u FROM UserEntity u", UserEntity.class)
-                .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize())
+    public List<UserEntity> getAll(Long afterId, int limit) {
+        if (afterId == null) {
+            return entityManager.createQuery("SELECT u FROM UserEntity u ORDER BY u.id", UserEntity.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return entityManager.createQuery("SELECT u FROM UserEntity u WHERE u.id > :afterId ORDER BY u.id", UserEntity.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
                 .getResultList();
+    }
 
-        return new PageImpl<>(content, pageable, total);
+    @Override
+    public long countApproximately() {
+        return approximateRowCounter.count(TABLE);
     }
 
     @Override
-    public void update(Long id, UserEntity updatedUser) {
-        UserEntity user = entityManager.find(UserEntity.class, id);
-        if (user != null) {
-            user.setName(updatedUser.getName());
-            user.setSurname(updatedUser.getSurname());
-            user.setBirthdate(updatedUser.getBirthdate());
-            user.setEmail(updatedUser.getEmail());
-            entityManager.flush(); // Ensure changes are persisted
-        }
+    public Optional<UserEntity> update(Long id, UserEntity updatedUser) {
+        List<?> updated = entityManager.createNativeQuery(UPDATE_RETURNING, UserEntity.class)
+                .setParameter("name", updatedUser.getName())
+                .setParameter("surname", updatedUser.getSurname())
+                .setParameter("birthdate", updatedUser.getBirthdate())
+                .setParameter("email", updatedUser.getEmail())
+                .setParameter("id", id)
+                .getResultList();
+        return updated.stream().findFirst().map(UserEntity.class::cast);
     }
 
     @Override
@@ -1,17 +1,21 @@
 package com.innowise.userservice.dao.interfaces;
 
 import com.innowise.userservice.entities.CardEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CardDao {
     void create(CardEntity cardEntity);
     Optional<CardEntity> getById(Long id);
-    Page<CardEntity> getAll(Pageable pageable);
-    void delete(Long id);
-    void update(Long id, CardEntity updatedCard);
+    Optional<CardEntity> getByIdAndUserId(Long id, Long userId);
+    List<CardEntity> getAll(Long afterId, int limit);
+    List<CardEntity> getByUserId(Long userId);
+    long countApproximately();
+    Optional<Long> delete(Long id);
+    boolean update(Long id, CardEntity updatedCard);
     boolean existsByNumber(String number);
+    long forEachNumber(Consumer<String> consumer);
 
 }
@@ -1,15 +1,16 @@
 package com.innowise.userservice.dao.interfaces;
 
 import com.innowise.userservice.entities.UserEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserDao {
     void create(UserEntity userEntity);
+    boolean createIfAbsent(UserEntity userEntity);
     Optional<UserEntity> getById(Long id);
     Optional<UserEntity> getByEmail(String email);
-    Page<UserEntity> getAll(Pageable pageable);
-    void update(Long id, UserEntity updatedUser);
+    List<UserEntity> getAll(Long afterId, int limit);
+    long countApproximately();
+    Optional<UserEntity> update(Long id, UserEntity updatedUser);
     void delete(Long id);
 }
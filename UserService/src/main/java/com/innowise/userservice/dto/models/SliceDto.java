@@ -0,0 +1,20 @@
+package com.innowise.userservice.dto.models;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SliceDto<T> {
+
+    private List<T> content;
+
+    private Long nextCursor;
+
+    private boolean hasNext;
+
+    private long approximateTotal;
+}
@@ -2,6 +2,7 @@ package com.innowise.userservice.exceptions;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
@@ -9,11 +10,15 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.sql.SQLTransientConnectionException;
+
 
 @Log4j2
 @RestControllerAdvice
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorDTO> handleBadRequestException(BadRequestException ex) {
         log.error("BadRequestException: {}", ex.getMessage());
@@ -70,10 +75,32 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDTO> handleGenericException(Exception ex) {
+        if (isConnectionWaitTimeout(ex)) {
+            log.warn("Shedding request, no database connection freed up in time: {}", ex.getMessage());
+            return ResponseEntity.status(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(ErrorDTO.builder()
+                            .error("Service Unavailable")
+                            .errorDescription("Too many concurrent requests, retry later")
+                            .build());
+        }
         log.error("Unexpected exception occurred", ex);
         return ResponseEntity.status(org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR).body(ErrorDTO.builder()
                 .error("Internal Server Error")
                 .errorDescription("An unexpected error occurred")
                 .build());
     }
+
+    /**
+     * Hikari gives up on a connection after spring.datasource.hikari.connection-timeout; only
+     * requests that actually wait for the pool are shed, whatever wraps the timeout on the way up.
+     */
+    private static boolean isConnectionWaitTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,33 @@
+package com.innowise.userservice.kafka;
+
+import com.innowise.userservice.dto.models.UserDto;
+import com.innowise.userservice.dto.models.UserRegisteredEventDto;
+import com.innowise.userservice.service.interfaces.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class UserRegisteredEventConsumer {
+
+    private final UserService userService;
+
+    @KafkaListener(topics = "user-registered", groupId = "user-service-group")
+    public void handleUserRegisteredEvent(UserRegisteredEventDto event) {
+        log.debug("Received USER_REGISTERED event for userId: {}", event.getUserId());
+
+        UserDto userDto = new UserDto();
+        userDto.setId(event.getUserId());
+        userDto.setEmail(event.getEmail());
+        userDto.setName(event.getName());
+        userDto.setSurname(event.getSurname());
+        userDto.setBirthdate(event.getBirthdate());
+
+        userService.createFromCredentialsIfAbsent(userDto);
+    }
+}
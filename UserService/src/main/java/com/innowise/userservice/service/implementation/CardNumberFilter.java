@@ -0,0 +1,91 @@
+package com.innowise.userservice.service.implementation;
+
+import com.innowise.userservice.dao.interfaces.CardDao;
+import com.innowise.userservice.util.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Negative lookup for card numbers. Only a "definitely absent" answer is trusted;
+ * the unique constraint on card_info.number stays the authoritative check.
+ */
+@Slf4j
+@Component
+public class CardNumberFilter {
+
+    private final CardDao cardDao;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private ScheduledExecutorService scheduler;
+
+    public CardNumberFilter(CardDao cardDao,
+                            @Value("${cards.number-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${cards.number-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${cards.number-filter.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.cardDao = cardDao;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        rebuild();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "card-number-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rebuild, rebuildInterval.toMillis(), rebuildInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean mightContain(String number) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(number);
+    }
+
+    public void add(String number) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(number);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(number);
+        }
+    }
+
+    synchronized void rebuild() {
+        BloomFilter fresh = new BloomFilter(expectedInsertions, falsePositiveRate);
+        building = fresh;
+        try {
+            long loaded = cardDao.forEachNumber(fresh::put);
+            filter = fresh;
+            log.info("Card number filter rebuilt with {} numbers", loaded);
+        } catch (RuntimeException ex) {
+            log.warn("Card number filter rebuild failed, keeping previous state: {}", ex.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+}
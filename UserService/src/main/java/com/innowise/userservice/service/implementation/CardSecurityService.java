@@ -2,26 +2,23 @@ package com.innowise.userservice.service.implementation;
 
 import com.innowise.userservice.dao.interfaces.CardDao;
 import com.innowise.userservice.entities.CardEntity;
-import com.innowise.userservice.entities.UserEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
+import java.util.Optional;
 
 @Service("cardSecurityService")
 @RequiredArgsConstructor
 public class CardSecurityService {
 
     private final CardDao cardDao;
+    private final RequestCardCache requestCardCache;
 
-
+    @Transactional(readOnly = true)
     public boolean isCardOwner(Long cardId, Authentication authentication) {
-        CardEntity card = cardDao.getById(cardId).orElse(null);
-        if (card == null) {
-            return false;
-        }
-
         Object details = authentication.getDetails();
         if (!(details instanceof Map)) {
             return false;
@@ -34,6 +31,8 @@ public class CardSecurityService {
             return false;
         }
 
-        return card.getUser() != null && card.getUser().getId().equals(userId);
+        Optional<CardEntity> card = cardDao.getByIdAndUserId(cardId, userId);
+        card.ifPresent(requestCardCache::put);
+        return card.isPresent();
     }
-}
\ No newline at end of file
+}
@@ -4,81 +4,172 @@ import com.innowise.userservice.dao.interfaces.CardDao;
 import com.innowise.userservice.dao.interfaces.UserDao;
 import com.innowise.userservice.dto.mappers.CardMapper;
 import com.innowise.userservice.dto.models.CardDto;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.entities.CardEntity;
 import com.innowise.userservice.entities.UserEntity;
+import com.innowise.userservice.exceptions.BadRequestException;
 import com.innowise.userservice.exceptions.DuplicateException;
 import com.innowise.userservice.exceptions.NotFoundException;
 import com.innowise.userservice.service.interfaces.CardService;
 import com.innowise.userservice.service.interfaces.UserService;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+@Timed("service.method")
 @Service
 @Transactional
 @Validated
 @RequiredArgsConstructor
 public class CardServiceImpl implements CardService {
 
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final String CARD_NUMBER_CONSTRAINT = "uk_card_number";
+    private static final List<String> OWNER_CACHES = List.of("userCards", "users");
+    private static final String DUPLICATE_NUMBER_MESSAGE = "Card with this number already exists";
+
     private final CardDao cardDao;
     private final CardMapper cardMapper;
     private final UserDao userDao;
+    private final CardNumberFilter cardNumberFilter;
+    private final RequestCardCache requestCardCache;
+    private final CacheManager cacheManager;
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = "userCards", key = "#cardDto.userId"),
+            @CacheEvict(value = "users", key = "#cardDto.userId")
+    })
     public CardDto create( CardDto cardDto) {
 
-        if (cardDao.existsByNumber(cardDto.getNumber())) {
-            throw new DuplicateException("Card with this number already exists");
+        if (cardNumberFilter.mightContain(cardDto.getNumber()) && cardDao.existsByNumber(cardDto.getNumber())) {
+            throw new DuplicateException(DUPLICATE_NUMBER_MESSAGE);
         }
         CardEntity cardEntity = cardMapper.toEntity(cardDto);
         UserEntity user = userDao.getById(cardDto.getUserId())
                 .orElseThrow(() -> new NotFoundException("User not found"));
         cardEntity.setUser(user);
 
-        cardDao.create(cardEntity);
+        try {
+            cardDao.create(cardEntity);
+        } catch (DataIntegrityViolationException ex) {
+            if (isCardNumberViolation(ex)) {
+                cardNumberFilter.add(cardDto.getNumber());
+                throw new DuplicateException(DUPLICATE_NUMBER_MESSAGE);
+            }
+            throw ex;
+        }
+        cardNumberFilter.add(cardEntity.getNumber());
         return cardMapper.toDto(cardEntity);
     }
 
     @Override
-    @Cacheable(value = "cards", key = "#id")
+    @Transactional(readOnly = true)
+    @Cacheable(value = "cards", key = "#id", unless = "#result == null")
     public Optional<CardDto> getById(Long id) {
-        return cardDao.getById(id).map(cardMapper::toDto);
+        return findCard(id).map(cardMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceDto<CardDto> getAll(Long afterId, int size) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+        List<CardEntity> entities = cardDao.getAll(afterId, size + 1);
+        boolean hasNext = entities.size() > size;
+        List<CardEntity> slice = hasNext ? entities.subList(0, size) : entities;
+
+        return SliceDto.<CardDto>builder()
+                .content(slice.stream().map(cardMapper::toDto).collect(Collectors.toList()))
+                .nextCursor(hasNext ? slice.get(slice.size() - 1).getId() : null)
+                .hasNext(hasNext)
+                .approximateTotal(cardDao.countApproximately())
+                .build();
     }
 
     @Override
-    public Page<CardDto> getAll(Pageable pageable) {
-        return cardDao.getAll(pageable).map(cardMapper::toDto);
+    @Transactional(readOnly = true)
+    @Cacheable(value = "userCards", key = "#userId")
+    public List<CardDto> getByUserId(Long userId) {
+        return cardDao.getByUserId(userId).stream()
+                .map(cardMapper::toDto)
+                .collect(Collectors.toList());
     }
 
     @Override
-    @CachePut(value = "cards", key = "#id")
+    @Caching(put = @CachePut(value = "cards", key = "#id"),
+            evict = {
+                    @CacheEvict(value = "userCards", key = "#result.userId"),
+                    @CacheEvict(value = "users", key = "#result.userId")
+            })
     public CardDto update(Long id, CardDto updatedCardDto) {
-        CardEntity existingCard = cardDao.getById(id)
+        CardEntity existingCard = findCard(id)
                 .orElseThrow(() -> new NotFoundException("Card not found"));
 
         UserEntity user = existingCard.getUser();
 
         CardEntity updatedCardEntity = cardMapper.toEntity(updatedCardDto);
+        updatedCardEntity.setId(id);
         updatedCardEntity.setUser(user);
 
-        cardDao.update(id, updatedCardEntity);
+        try {
+            if (!cardDao.update(id, updatedCardEntity)) {
+                throw new NotFoundException("Card not found");
+            }
+        } catch (DataIntegrityViolationException ex) {
+            if (isCardNumberViolation(ex)) {
+                throw new DuplicateException(DUPLICATE_NUMBER_MESSAGE);
+            }
+            throw ex;
+        }
+        requestCardCache.evict(id);
+        cardNumberFilter.add(updatedCardEntity.getNumber());
         return cardMapper.toDto(updatedCardEntity);
     }
 
     @Override
     @CacheEvict(value = "cards", key = "#id")
     public void delete(Long id) {
-        if (cardDao.getById(id).isEmpty()) {
-            throw new NotFoundException("Card not found");
+        requestCardCache.evict(id);
+        Long userId = cardDao.delete(id)
+                .orElseThrow(() -> new NotFoundException("Card not found"));
+        evictOwnerCaches(userId);
+    }
+
+    private void evictOwnerCaches(Long userId) {
+        for (String cacheName : OWNER_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(userId);
+            }
+        }
+    }
+
+    private Optional<CardEntity> findCard(Long id) {
+        return requestCardCache.get(id).or(() -> cardDao.getById(id));
+    }
+
+    private static boolean isCardNumberViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return CARD_NUMBER_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+            }
         }
-        cardDao.delete(id);
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.innowise.userservice.service.implementation;
+
+import com.innowise.userservice.entities.CardEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cards already loaded while authorizing the current request, so the service
+ * call behind {@code @PreAuthorize} does not select the same row again.
+ * Outside of a web request nothing is cached.
+ */
+@Component
+public class RequestCardCache {
+
+    private static final String ATTRIBUTE = RequestCardCache.class.getName();
+
+    public void put(CardEntity card) {
+        Map<Long, CardEntity> cards = cards(true);
+        if (cards != null) {
+            cards.put(card.getId(), card);
+        }
+    }
+
+    public Optional<CardEntity> get(Long id) {
+        Map<Long, CardEntity> cards = cards(false);
+        return cards == null ? Optional.empty() : Optional.ofNullable(cards.get(id));
+    }
+
+    public void evict(Long id) {
+        Map<Long, CardEntity> cards = cards(false);
+        if (cards != null) {
+            cards.remove(id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, CardEntity> cards(boolean create) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Long, CardEntity> cards = (Map<Long, CardEntity>) attributes.getAttribute(ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (cards == null && create) {
+            cards = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, cards, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cards;
+    }
+}
@@ -3,101 +3,159 @@ package com.innowise.userservice.service.implementation;
 import com.innowise.userservice.dao.interfaces.UserDao;
 import com.innowise.userservice.dto.mappers.UserMapper;
 import com.innowise.userservice.dto.models.UserDto;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.entities.UserEntity;
+import com.innowise.userservice.exceptions.BadRequestException;
 import com.innowise.userservice.exceptions.DuplicateException;
 import com.innowise.userservice.exceptions.NotFoundException;
 import com.innowise.userservice.service.interfaces.UserService;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+@Timed("service.method")
 @Service
 @Transactional
 @Validated
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final String EMAIL_CONSTRAINT = "users_email_key";
     
     private final UserDao userDao;
     private final UserMapper userMapper;
 
     @Override
     public UserDto create(UserDto userDto) {
-        logger.info("Creating user with auto-generated ID");
+        logger.debug("Creating user with auto-generated ID");
         if (userDao.getByEmail(userDto.getEmail()).isPresent()) {
             throw new DuplicateException("User with email '" + userDto.getEmail() + "' already exists");
         }
         UserEntity userEntity = userMapper.toEntity(userDto);
         userDao.create(userEntity);
-        logger.info("Successfully created user with auto-generated ID: {}", userEntity.getId());
+        logger.debug("Successfully created user with auto-generated ID: {}", userEntity.getId());
         return userMapper.toDto(userEntity);
     }
 
     @Override
     public UserDto createFromCredentials(UserDto userDto) {
-        logger.info("Creating user with entity for email: {}", userDto.getEmail());
+        logger.debug("Creating user with entity for email: {}", userDto.getEmail());
         if (userDao.getByEmail(userDto.getEmail()).isPresent()) {
             throw new DuplicateException("User with email '" + userDto.getEmail() + "' already exists");
         }
         UserEntity userEntity = userMapper.toEntity(userDto);
         userDao.create(userEntity);
-        logger.info("Successfully created user with ID: {}", userEntity.getId());
+        logger.debug("Successfully created user with ID: {}", userEntity.getId());
         return userMapper.toDto(userEntity);
     }
 
+    /**
+     * The profile id is the AuthService user id, so a profile that already exists under it is the
+     * same registration arriving twice (event redelivery, or the event and the gateway's fallback call).
+     * The insert itself skips an existing id, so two deliveries racing each other both succeed.
+     */
     @Override
-    @Cacheable(value ="users", key ="#id")
+    public UserDto createFromCredentialsIfAbsent(UserDto userDto) {
+        UserEntity userEntity = userMapper.toEntity(userDto);
+        try {
+            if (userDao.createIfAbsent(userEntity)) {
+                logger.debug("Successfully created user with ID: {}", userEntity.getId());
+                return userMapper.toDto(userEntity);
+            }
+        } catch (DataIntegrityViolationException ex) {
+            if (isEmailViolation(ex)) {
+                throw new DuplicateException("User with email '" + userDto.getEmail() + "' already exists");
+            }
+            throw ex;
+        }
+        logger.debug("User with ID {} already exists, skipping creation", userDto.getId());
+        return userDao.getById(userDto.getId())
+                .map(userMapper::toDto)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value ="users", key ="#id", unless = "#result == null")
     public Optional<UserDto> getById(Long id) {
         return userDao.getById(id)
                 .map(userMapper::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserDto> getByEmail(String email) {
         return userDao.getByEmail(email)
                 .map(userMapper::toDto);
     }
 
     @Override
-    public Page<UserDto> getAll(Pageable pageable) {
-        Page<UserEntity> userEntities = userDao.getAll(pageable);
-        return userEntities.map(userMapper::toDto);
+    @Transactional(readOnly = true)
+    public SliceDto<UserDto> getAll(Long afterId, int size) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+        List<UserEntity> entities = userDao.getAll(afterId, size + 1);
+        boolean hasNext = entities.size() > size;
+        List<UserEntity> slice = hasNext ? entities.subList(0, size) : entities;
+
+        return SliceDto.<UserDto>builder()
+                .content(slice.stream().map(userMapper::toDto).collect(Collectors.toList()))
+                .nextCursor(hasNext ? slice.get(slice.size() - 1).getId() : null)
+                .hasNext(hasNext)
+                .approximateTotal(userDao.countApproximately())
+                .build();
     }
 
     @Override
     @CachePut(value = "users", key = "#id")
     public UserDto update(Long id, UserDto updatedUserDto) {
-        Optional<UserEntity> existingUser = userDao.getByEmail(updatedUserDto.getEmail());
-        if (existingUser.isPresent() && !existingUser.get().getId().equals(id)) {
-            throw new DuplicateException("User with email '" + updatedUserDto.getEmail() + "' already exists");
-        }
-
         UserEntity updatedUserEntity = userMapper.toEntity(updatedUserDto);
-        userDao.update(id, updatedUserEntity);
-        Optional<UserEntity> updatedEntity = userDao.getById(id);
-        if (updatedEntity.isPresent()) {
-            return userMapper.toDto(updatedEntity.get());
-        } else {
-            throw new NotFoundException("User not found after update: " + id);
+        try {
+            return userDao.update(id, updatedUserEntity)
+                    .map(userMapper::toDto)
+                    .orElseThrow(() -> new NotFoundException("User not found"));
+        } catch (DataIntegrityViolationException ex) {
+            if (isEmailViolation(ex)) {
+                throw new DuplicateException("User with email '" + updatedUserDto.getEmail() + "' already exists");
+            }
+            throw ex;
         }
     }
     
     @Override
-    @CacheEvict(value = "users", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = "users", key = "#id"),
+            @CacheEvict(value = "userCards", key = "#id")
+    })
     public void delete(Long id) {
         if (userDao.getById(id).isEmpty()) {
             throw new NotFoundException("User not found");
         }
         userDao.delete(id);
     }
-}
\ No newline at end of file
+
+    private static boolean isEmailViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return EMAIL_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+}
@@ -1,19 +1,19 @@
 package com.innowise.userservice.service.interfaces;
 
 import com.innowise.userservice.dto.models.UserDto;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.entities.UserEntity;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
 import java.util.Optional;
 
 public interface UserService {
     UserDto create(@Valid UserDto userDto);
     UserDto createFromCredentials(@Valid UserDto userDto);
+    UserDto createFromCredentialsIfAbsent(@Valid UserDto userDto);
     Optional<UserDto> getById(Long id);
     Optional<UserDto> getByEmail(String email);
-    Page<UserDto> getAll(Pageable pageable);
+    SliceDto<UserDto> getAll(Long afterId, int size);
     UserDto update(Long id, @Valid UserDto updatedUserDto);
     void delete(Long id);
 }
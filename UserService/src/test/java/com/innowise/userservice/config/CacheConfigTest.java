@@ -0,0 +1,43 @@
+package com.innowise.userservice.config;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.userservice.dto.models.CardDto;
+import com.innowise.userservice.dto.models.UserDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final ObjectMapper cacheMapper = CacheConfig.cacheMapper(new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    void testCachedDtosRoundTrip() throws Exception {
+        CardDto card = new CardDto();
+        card.setId(7L);
+        card.setUserId(1L);
+        card.setExpirationDate(LocalDate.of(2030, 1, 1));
+        UserDto user = UserDto.builder()
+                .id(1L)
+                .email("cached@example.com")
+                .birthdate(LocalDate.of(1990, 1, 1))
+                .cards(new ArrayList<>(List.of(card)))
+                .build();
+
+        Object restored = cacheMapper.readValue(cacheMapper.writeValueAsString(user), Object.class);
+
+        assertEquals(user, restored);
+    }
+
+    @Test
+    void testForeignTypeIdIsRejected() {
+        String payload = "[\"java.net.URL\",\"http://example.com\"]";
+
+        assertThrows(JsonMappingException.class, () -> cacheMapper.readValue(payload, Object.class));
+    }
+}
@@ -3,6 +3,7 @@ package com.innowise.userservice.integration;
 import com.innowise.userservice.dao.interfaces.CardDao;
 import com.innowise.userservice.dao.interfaces.UserDao;
 import com.innowise.userservice.dto.models.CardDto;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.dto.models.UserDto;
 import com.innowise.userservice.entities.CardEntity;
 import com.innowise.userservice.exceptions.DuplicateException;
@@ -14,8 +15,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
@@ -25,13 +24,16 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @SpringBootTest
 @Testcontainers
 @TestPropertySource(properties = {
         "spring.cache.type=none",
-        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration"
+        "spring.kafka.enabled=false",
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration"
 })
 public class CardServiceIntegrationTest {
 
@@ -64,10 +66,10 @@ public class CardServiceIntegrationTest {
 
     @BeforeEach
     void cleanDatabase() {
-        cardDao.getAll(PageRequest.of(0, 50))
+        cardDao.getAll(null, 50)
                 .forEach(card -> cardDao.delete(card.getId()));
 
-        userDao.getAll(PageRequest.of(0, 50))
+        userDao.getAll(null, 50)
                 .forEach(user -> userDao.delete(user.getId()));
     }
 
@@ -125,8 +127,26 @@ public class CardServiceIntegrationTest {
     void testGetAll() {
         cardService.create(testCard);
 
-        Page<CardDto> cards = cardService.getAll(PageRequest.of(0, 10));
-        Assertions.assertEquals(1, cards.getTotalElements());
+        SliceDto<CardDto> cards = cardService.getAll(null, 10);
+        Assertions.assertEquals(1, cards.getContent().size());
+        Assertions.assertFalse(cards.isHasNext());
+    }
+
+    @Test
+    void testGetByUserId() {
+        CardDto first = cardService.create(testCard);
+        CardDto secondCard = new CardDto();
+        secondCard.setNumber("3333-4444-4444-4444");
+        secondCard.setHolder("TestName TestSurname");
+        secondCard.setExpirationDate(LocalDate.of(2031, 1, 1));
+        secondCard.setUserId(userId);
+        CardDto second = cardService.create(secondCard);
+
+        List<CardDto> cards = cardService.getByUserId(userId);
+
+        Assertions.assertEquals(List.of(first.getId(), second.getId()),
+                cards.stream().map(CardDto::getId).toList());
+        Assertions.assertTrue(cardService.getByUserId(userId + 1).isEmpty());
     }
 
     @Test
@@ -0,0 +1,213 @@
+package com.innowise.userservice.integration;
+
+import com.innowise.common.datasource.ReadYourWritesTracker;
+import com.innowise.common.web.Callers;
+import com.innowise.userservice.dto.models.UserDto;
+import com.innowise.userservice.service.interfaces.UserService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers
+@TestPropertySource(properties = {
+        "spring.cache.type=none",
+        "spring.kafka.enabled=false",
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration",
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.max-lag=500ms",
+        "datasource.replicas.check-interval=200ms",
+        "datasource.replicas.sticky-window=2s"
+})
+public class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICATION_SETUP = """
+            #!/bin/bash
+            set -e
+            psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" \
+                -c "CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator'"
+            echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+            """;
+
+    private static final Network network = Network.newNetwork();
+
+    @Container
+    private static final PostgreSQLContainer<?> primary =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"))
+                    .withNetwork(network)
+                    .withNetworkAliases("primary")
+                    .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=4",
+                            "-c", "hot_standby=on")
+                    .withCopyToContainer(Transferable.of(REPLICATION_SETUP, 0755),
+                            "/docker-entrypoint-initdb.d/10-replication.sh");
+
+    @Container
+    private static final GenericContainer<?> replica =
+            new GenericContainer<>(DockerImageName.parse("postgres:16"))
+                    .dependsOn(primary)
+                    .withNetwork(network)
+                    .withEnv("PGPASSWORD", "replicator")
+                    .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+                    .withCommand("bash", "-c", "until pg_basebackup -h primary -U replicator "
+                            + "-D /var/lib/postgresql/data -R -X stream; do sleep 1; done; "
+                            + "chmod 0700 /var/lib/postgresql/data; exec postgres")
+                    .withExposedPorts(5432)
+                    .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1)
+                            .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("datasource.replicas.urls", ReplicaRoutingIntegrationTest::replicaJdbcUrl);
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+        executeOnReplica("SELECT pg_wal_replay_resume()");
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        assertTrue(inRecovery(true));
+        assertFalse(inRecovery(false));
+    }
+
+    @Test
+    void testWritesReplicateToReadOnlyReads() {
+        UserDto created = userService.create(newUser());
+
+        awaitTrue(() -> userService.getByEmail(created.getEmail()).isPresent(), Duration.ofSeconds(10));
+        assertTrue(inRecovery(true));
+    }
+
+    @Test
+    void testCallerReadsOwnWritesFromPrimaryUntilReplicaCatchesUp() {
+        MockHttpServletResponse response = actAs("1");
+        userService.create(newUser());
+        assertNotNull(response.getCookie(ReadYourWritesTracker.LAST_WRITE_COOKIE));
+        assertFalse(inRecovery(true));
+
+        actAs("2");
+        assertTrue(inRecovery(true));
+
+        actAs("1");
+        awaitTrue(() -> inRecovery(true), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testLastWriteCookieFromAnotherInstanceHoldsReadsUntilReplicaCatchesUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesTracker.LAST_WRITE_COOKIE,
+                Long.toString(System.currentTimeMillis() + 1_000)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertFalse(inRecovery(true));
+        awaitTrue(() -> inRecovery(true), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testLaggingReplicaIsBypassed() throws Exception {
+        executeOnReplica("SELECT pg_wal_replay_pause()");
+        userService.create(newUser());
+
+        awaitTrue(() -> !inRecovery(true), Duration.ofSeconds(10));
+
+        executeOnReplica("SELECT pg_wal_replay_resume()");
+        awaitTrue(() -> inRecovery(true), Duration.ofSeconds(10));
+    }
+
+    private boolean inRecovery(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private MockHttpServletResponse actAs(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Callers.USER_ID_HEADER, userId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private UserDto newUser() {
+        UserDto user = new UserDto();
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setName("Replica");
+        user.setSurname("Reader");
+        user.setBirthdate(LocalDate.of(1990, 1, 1));
+        return user;
+    }
+
+    private static String replicaJdbcUrl() {
+        return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432)
+                + "/" + primary.getDatabaseName();
+    }
+
+    private static void executeOnReplica(String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection(replicaJdbcUrl(),
+                primary.getUsername(), primary.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within " + timeout.toMillis() + " ms");
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+}
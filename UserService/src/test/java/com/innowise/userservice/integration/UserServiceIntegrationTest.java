@@ -1,6 +1,7 @@
 package com.innowise.userservice.integration;
 
 import com.innowise.userservice.dao.interfaces.UserDao;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.dto.models.UserDto;
 import com.innowise.userservice.entities.UserEntity;
 import com.innowise.userservice.exceptions.DuplicateException;
@@ -11,8 +12,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
@@ -22,13 +21,22 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @SpringBootTest
 @Testcontainers
 @TestPropertySource(properties = {
         "spring.cache.type=none",
-        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration"
+        "spring.kafka.enabled=false",
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration"
 })
 public class UserServiceIntegrationTest {
 
@@ -53,7 +61,7 @@ public class UserServiceIntegrationTest {
 
     @BeforeEach
     void cleanDatabase() {
-        userDao.getAll(PageRequest.of(0, 50))
+        userDao.getAll(null, 50)
                 .forEach(user -> userDao.delete(user.getId()));
     }
 
@@ -94,6 +102,26 @@ public class UserServiceIntegrationTest {
         Assertions.assertTrue(ex.getMessage().contains(testUser.getEmail()));
     }
 
+    @Test
+    void testConcurrentCreateFromCredentialsIfAbsentBothSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserDto>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return userService.createFromCredentialsIfAbsent(testUser);
+            }));
+        }
+        start.countDown();
+        for (Future<UserDto> result : results) {
+            Assertions.assertEquals(testUser.getId(), result.get(30, TimeUnit.SECONDS).getId());
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(1, userService.getAll(null, 10).getContent().size());
+    }
+
     @Test
     void testGetByEmail() {
         userService.createFromCredentials(testUser);
@@ -108,9 +136,35 @@ public class UserServiceIntegrationTest {
     void testGetAll() {
         userService.createFromCredentials(testUser);
 
-        Page<UserDto> users = userService.getAll(PageRequest.of(0, 10));
+        SliceDto<UserDto> users = userService.getAll(null, 10);
+
+        Assertions.assertEquals(1, users.getContent().size());
+        Assertions.assertFalse(users.isHasNext());
+        Assertions.assertNull(users.getNextCursor());
+    }
 
-        Assertions.assertEquals(1, users.getTotalElements());
+    @Test
+    void testGetAllKeysetSlices() {
+        for (int i = 0; i < 5; i++) {
+            UserDto user = new UserDto();
+            user.setEmail("slice" + i + "@example.com");
+            user.setName("Slice");
+            user.setSurname("User" + i);
+            user.setBirthdate(LocalDate.of(1990, 1, 1));
+            userService.create(user);
+        }
+
+        SliceDto<UserDto> first = userService.getAll(null, 2);
+        SliceDto<UserDto> second = userService.getAll(first.getNextCursor(), 2);
+        SliceDto<UserDto> last = userService.getAll(second.getNextCursor(), 2);
+
+        Assertions.assertTrue(first.isHasNext());
+        Assertions.assertTrue(second.isHasNext());
+        Assertions.assertFalse(last.isHasNext());
+        Assertions.assertEquals(1, last.getContent().size());
+        Assertions.assertTrue(first.getContent().get(1).getId() < second.getContent().get(0).getId());
+        Assertions.assertTrue(second.getContent().get(1).getId() < last.getContent().get(0).getId());
+        Assertions.assertTrue(last.getApproximateTotal() >= 0);
     }
 
     @Test
@@ -128,6 +182,26 @@ public class UserServiceIntegrationTest {
         Assertions.assertEquals("Updated", updated.getName());
     }
 
+    @Test
+    void testUpdateDuplicateEmailException() {
+        UserDto created = userService.createFromCredentials(testUser);
+        UserDto other = new UserDto();
+        other.setId(created.getId() + 1);
+        other.setEmail("other@example.com");
+        other.setName("Other");
+        other.setSurname("User");
+        other.setBirthdate(created.getBirthdate());
+        userService.createFromCredentials(other);
+
+        UserDto updatedDto = new UserDto();
+        updatedDto.setEmail(other.getEmail());
+        updatedDto.setName("Updated");
+        updatedDto.setSurname("User");
+        updatedDto.setBirthdate(created.getBirthdate());
+
+        Assertions.assertThrows(DuplicateException.class, () -> userService.update(created.getId(), updatedDto));
+    }
+
     @Test
     void testDelete() {
         UserDto created = userService.createFromCredentials(testUser);
@@ -4,10 +4,12 @@ import com.innowise.userservice.dao.interfaces.CardDao;
 import com.innowise.userservice.dao.interfaces.UserDao;
 import com.innowise.userservice.dto.mappers.CardMapper;
 import com.innowise.userservice.dto.models.CardDto;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.entities.CardEntity;
 import com.innowise.userservice.entities.UserEntity;
 import com.innowise.userservice.exceptions.DuplicateException;
 import com.innowise.userservice.exceptions.NotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,11 +18,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +44,21 @@ class CardServiceImplTest {
     @Mock
     private CardMapper cardMapper;
 
+    @Mock
+    private CardNumberFilter cardNumberFilter;
+
+    @Mock
+    private RequestCardCache requestCardCache;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache userCardsCache;
+
+    @Mock
+    private Cache usersCache;
+
     @InjectMocks
     private CardServiceImpl cardService;
 
@@ -72,6 +89,7 @@ class CardServiceImplTest {
     }
     @Test
     void testCreate() {
+        when(cardNumberFilter.mightContain(cardDto.getNumber())).thenReturn(true);
         when(cardDao.existsByNumber(cardDto.getNumber())).thenReturn(false);
         when(userDao.getById(1L)).thenReturn(Optional.of(userEntity));
         when(cardMapper.toEntity(cardDto)).thenReturn(cardEntity);
@@ -82,10 +100,50 @@ class CardServiceImplTest {
         Assertions.assertNotNull(result);
         Assertions.assertEquals(cardDto.getNumber(), result.getNumber());
         verify(cardDao).create(cardEntity);
+        verify(cardNumberFilter).add(cardEntity.getNumber());
+    }
+
+    @Test
+    void testCreateSkipsExistsQueryWhenFilterRulesNumberOut() {
+        when(cardNumberFilter.mightContain(cardDto.getNumber())).thenReturn(false);
+        when(userDao.getById(1L)).thenReturn(Optional.of(userEntity));
+        when(cardMapper.toEntity(cardDto)).thenReturn(cardEntity);
+        when(cardMapper.toDto(cardEntity)).thenReturn(cardDto);
+
+        cardService.create(cardDto);
+
+        verify(cardDao, Mockito.never()).existsByNumber(Mockito.anyString());
+        verify(cardDao).create(cardEntity);
+    }
+
+    @Test
+    void testCreateMapsUniqueViolationToDuplicateException() {
+        when(cardNumberFilter.mightContain(cardDto.getNumber())).thenReturn(false);
+        when(userDao.getById(1L)).thenReturn(Optional.of(userEntity));
+        when(cardMapper.toEntity(cardDto)).thenReturn(cardEntity);
+        Mockito.doThrow(new DataIntegrityViolationException("duplicate key",
+                        new ConstraintViolationException("duplicate key", new SQLException(), "uk_card_number")))
+                .when(cardDao).create(cardEntity);
+
+        Assertions.assertThrows(DuplicateException.class, () -> cardService.create(cardDto));
+        verify(cardNumberFilter).add(cardDto.getNumber());
+    }
+
+    @Test
+    void testCreateRethrowsOtherIntegrityViolations() {
+        when(cardNumberFilter.mightContain(cardDto.getNumber())).thenReturn(false);
+        when(userDao.getById(1L)).thenReturn(Optional.of(userEntity));
+        when(cardMapper.toEntity(cardDto)).thenReturn(cardEntity);
+        Mockito.doThrow(new DataIntegrityViolationException("fk violation",
+                        new ConstraintViolationException("fk violation", new SQLException(), "fk_card_user")))
+                .when(cardDao).create(cardEntity);
+
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> cardService.create(cardDto));
     }
 
     @Test
     void testCreateDuplicateNumberExceprion() {
+        when(cardNumberFilter.mightContain(cardDto.getNumber())).thenReturn(true);
         when(cardDao.existsByNumber(cardDto.getNumber())).thenReturn(true);
 
         Assertions.assertThrows(DuplicateException.class, () -> cardService.create(cardDto));
@@ -94,6 +152,7 @@ class CardServiceImplTest {
 
     @Test
     void testCreateNotFoundUserExceprion() {
+        when(cardNumberFilter.mightContain(cardDto.getNumber())).thenReturn(true);
         when(cardDao.existsByNumber(cardDto.getNumber())).thenReturn(false);
         when(userDao.getById(1L)).thenReturn(Optional.empty());
 
@@ -113,28 +172,69 @@ class CardServiceImplTest {
     }
 
     @Test
-    void testGetAll() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<CardEntity> page = new PageImpl<>(List.of(cardEntity), pageable, 1);
+    void testGetByIdReusesCardLoadedDuringAuthorization() {
+        when(requestCardCache.get(1L)).thenReturn(Optional.of(cardEntity));
+        when(cardMapper.toDto(cardEntity)).thenReturn(cardDto);
+
+        Optional<CardDto> result = cardService.getById(1L);
 
-        when(cardDao.getAll(pageable)).thenReturn(page);
+        Assertions.assertTrue(result.isPresent());
+        verify(cardDao, Mockito.never()).getById(Mockito.any());
+    }
+
+    @Test
+    void testUpdateReusesCardLoadedDuringAuthorization() {
+        CardEntity updatedEntity = new CardEntity();
+        updatedEntity.setNumber("0001-0002-0003-0005");
+        when(requestCardCache.get(1L)).thenReturn(Optional.of(cardEntity));
+        when(cardMapper.toEntity(cardDto)).thenReturn(updatedEntity);
+        when(cardDao.update(1L, updatedEntity)).thenReturn(true);
+        when(cardMapper.toDto(updatedEntity)).thenReturn(cardDto);
+
+        cardService.update(1L, cardDto);
+
+        verify(cardDao, Mockito.never()).getById(Mockito.any());
+        Assertions.assertSame(userEntity, updatedEntity.getUser());
+        verify(cardNumberFilter).add(updatedEntity.getNumber());
+    }
+
+    @Test
+    void testGetByUserId() {
+        when(cardDao.getByUserId(1L)).thenReturn(List.of(cardEntity));
+        when(cardMapper.toDto(cardEntity)).thenReturn(cardDto);
+
+        List<CardDto> result = cardService.getByUserId(1L);
+
+        Assertions.assertEquals(List.of(cardDto), result);
+    }
+
+    @Test
+    void testGetAll() {
+        when(cardDao.getAll(5L, 11)).thenReturn(List.of(cardEntity));
+        when(cardDao.countApproximately()).thenReturn(1L);
         when(cardMapper.toDto(cardEntity)).thenReturn(cardDto);
 
-        Page<CardDto> result = cardService.getAll(pageable);
+        SliceDto<CardDto> result = cardService.getAll(5L, 10);
 
-        Assertions.assertEquals(1, result.getTotalElements());
+        Assertions.assertEquals(1, result.getContent().size());
         Assertions.assertEquals(cardDto.getNumber(), result.getContent().get(0).getNumber());
+        Assertions.assertFalse(result.isHasNext());
+        Assertions.assertNull(result.getNextCursor());
+        Assertions.assertEquals(1L, result.getApproximateTotal());
     }
 
     @Test
     void testDelete() {
         Long cardId = 1L;
-        CardEntity card = new CardEntity();
-        card.setId(cardId);
 
-        when(cardDao.getById(cardId)).thenReturn(Optional.of(card));
+        when(cardDao.delete(cardId)).thenReturn(Optional.of(1L));
+        when(cacheManager.getCache("userCards")).thenReturn(userCardsCache);
+        when(cacheManager.getCache("users")).thenReturn(usersCache);
         cardService.delete(cardId);
         verify(cardDao).delete(cardId);
+        verify(userCardsCache).evict(1L);
+        verify(usersCache).evict(1L);
+        verify(cardDao, Mockito.never()).getById(Mockito.any());
 
     }
 
@@ -142,7 +242,7 @@ class CardServiceImplTest {
     void testDeleteCardNotFoundException() {
         Long missingId = 999L;
 
-        when(cardDao.getById(missingId)).thenReturn(Optional.empty());
+        when(cardDao.delete(missingId)).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
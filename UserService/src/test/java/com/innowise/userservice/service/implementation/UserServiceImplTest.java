@@ -2,26 +2,30 @@ package com.innowise.userservice.service.implementation;
 
 import com.innowise.userservice.dao.interfaces.UserDao;
 import com.innowise.userservice.dto.mappers.UserMapper;
+import com.innowise.userservice.dto.models.SliceDto;
 import com.innowise.userservice.dto.models.UserDto;
 import com.innowise.userservice.entities.UserEntity;
+import com.innowise.userservice.exceptions.BadRequestException;
 import com.innowise.userservice.exceptions.DuplicateException;
 import com.innowise.userservice.exceptions.NotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -76,6 +80,40 @@ class UserServiceImplTest {
         assertEquals("User with email 'ada@example.com' already exists", exception.getMessage());
 
     }
+    @Test
+    void testCreateFromCredentialsIfAbsent() {
+        when(userMapper.toEntity(userDto)).thenReturn(userEntity);
+        when(userDao.createIfAbsent(userEntity)).thenReturn(true);
+        when(userMapper.toDto(userEntity)).thenReturn(userDto);
+
+        UserDto result = userService.createFromCredentialsIfAbsent(userDto);
+
+        assertEquals(1L, result.getId());
+        verify(userDao, never()).getById(any());
+    }
+
+    @Test
+    void testCreateFromCredentialsIfAbsentWhenProfileExists() {
+        when(userMapper.toEntity(userDto)).thenReturn(userEntity);
+        when(userDao.createIfAbsent(userEntity)).thenReturn(false);
+        when(userDao.getById(1L)).thenReturn(Optional.of(userEntity));
+        when(userMapper.toDto(userEntity)).thenReturn(userDto);
+
+        UserDto result = userService.createFromCredentialsIfAbsent(userDto);
+
+        assertEquals(1L, result.getId());
+        verify(userDao, never()).create(any());
+    }
+
+    @Test
+    void testCreateFromCredentialsIfAbsentRejectsDuplicateEmail() {
+        when(userMapper.toEntity(userDto)).thenReturn(userEntity);
+        when(userDao.createIfAbsent(userEntity)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "users_email_key")));
+
+        assertThrows(DuplicateException.class, () -> userService.createFromCredentialsIfAbsent(userDto));
+    }
+
     @Test
     void testGetById() {
         when(userDao.getById(1L)).thenReturn(Optional.of(userEntity));
@@ -118,28 +156,65 @@ class UserServiceImplTest {
 
     @Test
     void testGetAll() {
-        PageRequest pageable = PageRequest.of(0, 10);
-        Page<UserEntity> entityPage = new PageImpl<>(List.of(userEntity), pageable, 1);
-
-        when(userDao.getAll(pageable)).thenReturn(entityPage);
+        UserEntity second = new UserEntity(2L, "Leon", "Kennedy",
+                LocalDate.of(1990, 1, 1), "leon@example.com", new ArrayList<>());
+        when(userDao.getAll(null, 2)).thenReturn(List.of(userEntity, second));
+        when(userDao.countApproximately()).thenReturn(42L);
         when(userMapper.toDto(userEntity)).thenReturn(userDto);
 
-        Page<UserDto> result = userService.getAll(pageable);
+        SliceDto<UserDto> result = userService.getAll(null, 1);
 
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
         assertEquals("Ada", result.getContent().get(0).getName());
+        assertTrue(result.isHasNext());
+        assertEquals(1L, result.getNextCursor());
+        assertEquals(42L, result.getApproximateTotal());
+    }
+
+    @Test
+    void testGetAllLastSlice() {
+        when(userDao.getAll(1L, 11)).thenReturn(List.of());
+
+        SliceDto<UserDto> result = userService.getAll(1L, 10);
+
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testGetAllRejectsOversizedSlice() {
+        assertThrows(BadRequestException.class, () -> userService.getAll(null, 101));
     }
 
     @Test
     void testUpdate() {
         when(userMapper.toEntity(userDto)).thenReturn(userEntity);
         when(userMapper.toDto(userEntity)).thenReturn(userDto);
-        when(userDao.getById(1L)).thenReturn(Optional.of(userEntity));
+        when(userDao.update(1L, userEntity)).thenReturn(Optional.of(userEntity));
 
         UserDto result = userService.update(1L, userDto);
 
-        verify(userDao).update(1L, userEntity);
         assertEquals("ada@example.com", result.getEmail());
+        verify(userDao, never()).getById(any());
+        verify(userDao, never()).getByEmail(any());
+    }
+
+    @Test
+    void testUpdateNotFoundException() {
+        when(userMapper.toEntity(userDto)).thenReturn(userEntity);
+        when(userDao.update(1L, userEntity)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userService.update(1L, userDto));
+    }
+
+    @Test
+    void testUpdateDuplicateEmailException() {
+        when(userMapper.toEntity(userDto)).thenReturn(userEntity);
+        when(userDao.update(1L, userEntity)).thenThrow(new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), "users_email_key")));
+
+        assertThrows(DuplicateException.class, () -> userService.update(1L, userDto));
     }
 
     @Test